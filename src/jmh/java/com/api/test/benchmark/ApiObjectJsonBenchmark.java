@@ -0,0 +1,66 @@
+package com.api.test.benchmark;
+
+import com.api.test.model.ApiObject;
+import com.api.test.model.JsonMapping;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization and deserialization throughput of ApiObject request/response bodies,
+ * with a fresh default mapper versus the shared {@link JsonMapping} reader and writer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiObjectJsonBenchmark {
+    
+    @Param({"4", "64"})
+    private int attributes;
+    
+    private ObjectMapper mapper;
+    private ApiObject apiObject;
+    private byte[] json;
+    
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper();
+        apiObject = Payloads.apiObject(attributes);
+        json = mapper.writeValueAsBytes(apiObject);
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(apiObject);
+    }
+    
+    @Benchmark
+    public ApiObject deserialize() throws IOException {
+        return mapper.readValue(json, ApiObject.class);
+    }
+    
+    @Benchmark
+    public byte[] serializeShared() {
+        return JsonMapping.toBytes(apiObject);
+    }
+    
+    @Benchmark
+    public ApiObject deserializeShared() {
+        return JsonMapping.toApiObject(json);
+    }
+}
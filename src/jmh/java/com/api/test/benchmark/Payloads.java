@@ -0,0 +1,55 @@
+package com.api.test.benchmark;
+
+import com.api.test.model.ApiObject;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+/**
+ * Request and response payloads shared by the benchmarks
+ */
+final class Payloads {
+    
+    private Payloads() {
+    }
+    
+    /**
+     * An object shaped like the feature file's laptops, with the given number of data attributes
+     */
+    static ApiObject apiObject(int attributes) {
+        ApiObject apiObject = new ApiObject("Apple MacBook Pro 16");
+        apiObject.addDataAttribute("CPU model", "Intel Core i9");
+        apiObject.addDataAttribute("price", 1849.99);
+        for (int i = 2; i < attributes; i++) {
+            apiObject.addDataAttribute("attribute " + i, "value " + i);
+        }
+        return apiObject;
+    }
+    
+    static String objectJson(int index) {
+        return "{\"id\":\"" + index + "\",\"name\":\"Device " + index + "\","
+                + "\"data\":{\"CPU model\":\"Intel Core i" + (index % 10) + "\",\"price\":" + (index + 0.99) + "}}";
+    }
+    
+    static String listJson(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(objectJson(i));
+        }
+        return json.append(']').toString();
+    }
+    
+    /**
+     * A buffered 200 JSON response, as RestApiClient returns them, without any network
+     */
+    static Response response(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build();
+    }
+}
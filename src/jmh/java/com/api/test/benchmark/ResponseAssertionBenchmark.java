@@ -0,0 +1,109 @@
+package com.api.test.benchmark;
+
+import com.api.test.context.ResponseDocument;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The lookups behind the ThenSteps assertions: GPath {@code Response.path()} against the
+ * parse-once ResponseDocument tree and its streaming list checks, across list sizes.
+ * <p>
+ * Document benchmarks build a fresh ResponseDocument per call so that parsing is included;
+ * {@code *Memoized} ones show the cost of further lookups once a step has parsed the body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseAssertionBenchmark {
+    
+    @Param({"10", "1000", "10000"})
+    private int listSize;
+    
+    private Response objectResponse;
+    private Response listResponse;
+    private ResponseDocument parsedObject;
+    private String lastName;
+    
+    @Setup
+    public void setUp() {
+        objectResponse = Payloads.response(Payloads.objectJson(1));
+        listResponse = Payloads.response(Payloads.listJson(listSize));
+        parsedObject = new ResponseDocument(objectResponse);
+        parsedObject.root();
+        lastName = "Device " + (listSize - 1);
+    }
+    
+    @Benchmark
+    public Object objectFieldsGPath() {
+        String name = objectResponse.path("name");
+        Map<String, Object> data = objectResponse.path("data");
+        return name + data.get("price");
+    }
+    
+    @Benchmark
+    public Object objectFieldsTree() {
+        ResponseDocument document = new ResponseDocument(objectResponse);
+        return document.getString("name") + document.node("data.price").doubleValue();
+    }
+    
+    @Benchmark
+    public Object objectFieldsTreeMemoized() {
+        return parsedObject.getString("name") + parsedObject.node("data.price").doubleValue();
+    }
+    
+    @Benchmark
+    public boolean listIncludesGPath() {
+        List<String> names = listResponse.path("name");
+        return names.contains(lastName);
+    }
+    
+    @Benchmark
+    public boolean listIncludesTree() {
+        for (JsonNode object : new ResponseDocument(listResponse).root()) {
+            if (lastName.equals(object.path("name").asText(null))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Benchmark
+    public boolean listIncludesStreaming() {
+        return new ResponseDocument(listResponse).anyElementHas("name", lastName);
+    }
+    
+    @Benchmark
+    public boolean requiredFieldsGPath() {
+        List<Map<String, Object>> objects = listResponse.path("$");
+        for (Map<String, Object> object : objects) {
+            if (!object.containsKey("id") || !object.containsKey("name")) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Benchmark
+    public long requiredFieldsStreaming() {
+        return new ResponseDocument(listResponse).firstElementMissing(Arrays.asList("id", "name"));
+    }
+}
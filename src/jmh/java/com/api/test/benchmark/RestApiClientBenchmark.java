@@ -0,0 +1,74 @@
+package com.api.test.benchmark;
+
+import com.api.test.client.RestApiClient;
+import com.api.test.model.ApiObject;
+import com.api.test.stub.ObjectsApiStub;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of building and dispatching RestApiClient requests, against the embedded
+ * stub on loopback so the numbers aren't dominated by the public service
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogging.level=OFF")
+public class RestApiClientBenchmark {
+    
+    private ObjectsApiStub stub;
+    private RestApiClient client;
+    private ApiObject apiObject;
+    private String existingId;
+    
+    @Setup
+    public void setUp() {
+        stub = new ObjectsApiStub(0);
+        stub.start();
+        client = new RestApiClient(stub.getBaseUrl());
+        apiObject = Payloads.apiObject(4);
+        existingId = client.createObject(apiObject).path("id");
+    }
+    
+    @TearDown
+    public void tearDown() {
+        stub.stop();
+    }
+    
+    @Benchmark
+    public RestApiClient newClient() {
+        return new RestApiClient(stub.getBaseUrl());
+    }
+    
+    @Benchmark
+    public Response getObjectById() {
+        return client.getObjectById(existingId);
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public Response getObjectByIdConcurrent() {
+        return client.getObjectById(existingId);
+    }
+    
+    @Benchmark
+    public Response createAndDeleteObject() {
+        Response created = client.createObject(apiObject);
+        return client.deleteObject(created.path("id"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor behind the asynchronous RestApiClient operations.
+ * <p>
+ * On Java 21+ every call runs on its own virtual thread, so hundreds of in-flight requests
+ * don't need hundreds of platform threads. The project compiles for Java 11, so the virtual
+ * thread executor is looked up reflectively; older runtimes fall back to a bounded pool of
+ * daemon threads sized by {@code http.async.threads}.
+ */
+final class AsyncExecutor {
+    
+    private static final ExecutorService EXECUTOR = create();
+    
+    private AsyncExecutor() {
+    }
+    
+    private static ExecutorService create() {
+        if (TestConfig.getBoolean("http.async.virtual.threads", true)) {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Pre-21 runtime, use platform threads
+            }
+        }
+        return Executors.newFixedThreadPool(TestConfig.getInt("http.async.threads", 64), daemonThreads());
+    }
+    
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "rest-api-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    static ExecutorService executor() {
+        return EXECUTOR;
+    }
+}
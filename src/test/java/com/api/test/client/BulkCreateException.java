@@ -0,0 +1,28 @@
+package com.api.test.client;
+
+import io.restassured.response.Response;
+
+import java.util.List;
+
+/**
+ * Thrown when some requests of a bulk create fail; carries the responses of the ones that
+ * went through so their objects can still be cleaned up
+ */
+public class BulkCreateException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final transient List<Response> completedResponses;
+    
+    public BulkCreateException(String message, Throwable cause, List<Response> completedResponses) {
+        super(message, cause);
+        this.completedResponses = completedResponses;
+    }
+    
+    /**
+     * Responses of the creates that completed, in request order
+     */
+    public List<Response> getCompletedResponses() {
+        return completedResponses;
+    }
+}
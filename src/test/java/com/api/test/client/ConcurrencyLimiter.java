@@ -0,0 +1,79 @@
+package com.api.test.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD concurrency limit: grows by one request per window of successful responses and is cut
+ * multiplicatively on 429/503, on requests that failed without a response (connection resets,
+ * timeouts), or when latency exceeds {@code latencySpikeRatio} times the baseline.
+ * <p>
+ * The baseline is a slow moving average of the latencies of successful responses that were not
+ * spikes, so sustained overload can't drag it up until spikes stop registering. Cuts are at most
+ * one per baseline latency, so a burst of throttled responses to the same window counts once.
+ */
+final class ConcurrencyLimiter {
+    
+    private static final double BASELINE_WEIGHT = 0.05;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencySpikeRatio;
+    private double limit;
+    private int inFlight;
+    private double baselineNanos;
+    private long lastCutNanos;
+    
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencySpikeRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencySpikeRatio = latencySpikeRatio;
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+    }
+    
+    /**
+     * Block until fewer than the current limit of requests are in flight
+     */
+    synchronized void acquire() {
+        boolean interrupted = false;
+        while (inFlight >= (int) limit) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        inFlight++;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Release a slot and adjust the limit from the outcome of the request; a status code of 0 or
+     * less means the request failed without a response
+     */
+    synchronized void release(long latencyNanos, int statusCode) {
+        inFlight--;
+        long now = System.nanoTime();
+        boolean throttled = statusCode <= 0 || statusCode == 429 || statusCode == 503;
+        boolean spike = baselineNanos > 0 && latencyNanos > baselineNanos * latencySpikeRatio;
+        if (throttled || spike) {
+            if (now - lastCutNanos > Math.max(baselineNanos, TimeUnit.MILLISECONDS.toNanos(1))) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastCutNanos = now;
+            }
+        } else {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+            baselineNanos = baselineNanos == 0
+                    ? latencyNanos
+                    : baselineNanos + BASELINE_WEIGHT * (latencyNanos - baselineNanos);
+        }
+        notifyAll();
+    }
+    
+    synchronized int limit() {
+        return (int) limit;
+    }
+}
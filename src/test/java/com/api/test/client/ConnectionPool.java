@@ -0,0 +1,66 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JVM-wide keep-alive connection pool shared by every RestApiClient.
+ * <p>
+ * REST Assured only accepts the legacy {@code AbstractHttpClient}, which mutates its own
+ * parameters per request, so each request gets a fresh lightweight {@link DefaultHttpClient}
+ * while the sockets underneath come from this single bounded pool.
+ */
+@SuppressWarnings("deprecation")
+final class ConnectionPool {
+    
+    private static final PoolingClientConnectionManager CONNECTION_MANAGER = createConnectionManager();
+    
+    // The stale check costs a blocking read per request; the evictor below closes idle connections instead
+    private static final HttpClientConfig HTTP_CLIENT_CONFIG = HttpClientConfig.httpClientConfig()
+            .setParam(CoreConnectionPNames.STALE_CONNECTION_CHECK, false)
+            .httpClientFactory(() -> new DefaultHttpClient(CONNECTION_MANAGER));
+    
+    static {
+        startIdleEviction();
+    }
+    
+    private ConnectionPool() {
+    }
+    
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(SchemeRegistryFactory.createDefault());
+        manager.setMaxTotal(TestConfig.getInt("http.pool.max.total", 200));
+        manager.setDefaultMaxPerRoute(TestConfig.getInt("http.pool.max.per.route", 50));
+        return manager;
+    }
+    
+    private static void startIdleEviction() {
+        long idleTimeoutSeconds = TestConfig.getLong("http.pool.idle.timeout.seconds", 15);
+        long intervalSeconds = TestConfig.getLong("http.pool.eviction.interval.seconds", 5);
+        
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            CONNECTION_MANAGER.closeExpiredConnections();
+            CONNECTION_MANAGER.closeIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS);
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * HTTP client configuration backed by the shared pool
+     */
+    static HttpClientConfig httpClientConfig() {
+        return HTTP_CLIENT_CONFIG;
+    }
+}
@@ -0,0 +1,128 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends requests with the JDK {@link HttpClient} over HTTP/2 instead of REST Assured's
+ * Apache HTTP/1.1 client ({@code http.version=HTTP_2}).
+ * <p>
+ * All concurrent requests to a base URL are multiplexed over one connection. HTTPS servers
+ * negotiate HTTP/2 through ALPN, plain HTTP servers through an h2c upgrade. A server that
+ * supports neither falls back to HTTP/1.1 on the same client, and is no longer offered the
+ * upgrade, so there is nothing to configure per base URL. The filter completes the request
+ * itself, so it must be the last one.
+ */
+class Http2Transport implements Filter {
+    
+    // Set by the JDK client itself; it rejects requests that carry them
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+    
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(TestConfig.getLong("http.connect.timeout.seconds", 10)))
+            .build();
+    
+    private static final Http2Transport INSTANCE = new Http2Transport();
+    
+    // Servers that answered an upgrade offer in HTTP/1.1; later requests skip the offer
+    private static final Set<String> HTTP_1_ONLY = ConcurrentHashMap.newKeySet();
+    
+    private Http2Transport() {
+    }
+    
+    /**
+     * The transport for new clients, or null to keep REST Assured's HTTP/1.1 client
+     */
+    static Http2Transport configured() {
+        return "HTTP_2".equalsIgnoreCase(TestConfig.get("http.version", "HTTP_1_1")) ? INSTANCE : null;
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        URI uri = URI.create(requestSpec.getURI());
+        String origin = uri.getScheme() + "://" + uri.getAuthority();
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .method(requestSpec.getMethod(), bodyOf(requestSpec));
+        if (HTTP_1_ONLY.contains(origin)) {
+            request.version(HttpClient.Version.HTTP_1_1);
+        }
+        boolean hasContentType = false;
+        for (Header header : requestSpec.getHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                request.header(header.getName(), header.getValue());
+                hasContentType |= header.getName().equalsIgnoreCase("Content-Type");
+            }
+        }
+        if (!hasContentType && requestSpec.getContentType() != null) {
+            request.header("Content-Type", requestSpec.getContentType());
+        }
+        
+        HttpResponse<InputStream> response;
+        try {
+            // Left unread: the buffering filter spills bodies over the threshold to disk
+            response = CLIENT.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted during " + requestSpec.getMethod()
+                    + " " + requestSpec.getURI()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        
+        if (response.version() == HttpClient.Version.HTTP_1_1) {
+            HTTP_1_ONLY.add(origin);
+        }
+        
+        List<Header> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> {
+            // HTTP/2 pseudo-headers such as :status are not headers to REST Assured
+            if (!name.startsWith(":")) {
+                values.forEach(value -> headers.add(new Header(name, value)));
+            }
+        });
+        String protocol = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+        return new ResponseBuilder()
+                .setStatusCode(response.statusCode())
+                .setStatusLine(protocol + " " + response.statusCode())
+                .setHeaders(new Headers(headers))
+                .setContentType(response.headers().firstValue("Content-Type").orElse(""))
+                .setBody(response.body())
+                .build();
+    }
+    
+    private static HttpRequest.BodyPublisher bodyOf(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof byte[]) {
+            return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+        }
+        return HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,306 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Records every HTTP exchange per scenario into a local archive, or replays them from it
+ * without touching the network ({@code http.archive.mode=record|replay}).
+ * <p>
+ * The archive ({@code http.archive.file}) is append-only and length-prefixed: each record is
+ * an {@code int} length followed by the scenario, the request key (method, path and query,
+ * CRC of the body), the status, the headers and the body. Starting to record a scenario
+ * appends a marker record, so re-recording a scenario replaces its earlier exchanges without
+ * rewriting the file. Replay maps the file once and serves a scenario's exchanges for the
+ * same request key in recorded order, so bulk and retried requests replay exactly.
+ * <p>
+ * The scenario is tracked per thread, set by the hooks and carried to asynchronous calls
+ * with {@link #propagate(Supplier)}.
+ */
+public class HttpArchive implements Filter {
+    
+    private static final int MARKER = -1;
+    private static final Mode MODE = Mode.parse(TestConfig.get("http.archive.mode", "off"));
+    private static final ScenarioRun NO_SCENARIO = new ScenarioRun("");
+    private static final ThreadLocal<ScenarioRun> SCENARIO = new ThreadLocal<>();
+    private static final HttpArchive INSTANCE = new HttpArchive();
+    
+    private static FileChannel recording;
+    private static Map<String, Map<String, List<Integer>>> replayIndex;
+    private static MappedByteBuffer replayArchive;
+    
+    private HttpArchive() {
+    }
+    
+    /**
+     * The archive filter for new clients, or null when neither recording nor replaying
+     */
+    static HttpArchive configured() {
+        return MODE == Mode.OFF ? null : INSTANCE;
+    }
+    
+    private static Path file() {
+        return Paths.get(TestConfig.get("http.archive.file", ".http-archive/exchanges.bin"));
+    }
+    
+    /**
+     * Make the current thread's exchanges belong to the scenario at {@code line} of a feature;
+     * when recording, its earlier recordings are superseded
+     */
+    public static void startScenario(URI feature, int line) {
+        String scenario = featureName(feature) + ":" + line;
+        SCENARIO.set(new ScenarioRun(scenario));
+        if (MODE == Mode.RECORD) {
+            append(encode(scenario, "", MARKER, "", new byte[0]));
+        }
+    }
+    
+    /**
+     * Classpath resource name of a feature, so that runs selecting features by file path (the
+     * suite) and by classpath (load mode) share recordings; other URIs are kept as they are
+     */
+    private static String featureName(URI feature) {
+        if ("classpath".equals(feature.getScheme())) {
+            return feature.getSchemeSpecificPart().replaceFirst("^/", "");
+        }
+        if ("file".equals(feature.getScheme())) {
+            // Longest suffix of the path that is a classpath resource, e.g. features/x.feature
+            String resource = feature.getSchemeSpecificPart().replace('\\', '/');
+            while (HttpArchive.class.getClassLoader().getResource(resource) == null) {
+                int slash = resource.indexOf('/');
+                if (slash < 0) {
+                    return feature.toString();
+                }
+                resource = resource.substring(slash + 1);
+            }
+            return resource;
+        }
+        return feature.toString();
+    }
+    
+    /**
+     * Wrap a task so that exchanges it makes on another thread, such as asynchronous calls and
+     * cleanup deletes, belong to the current scenario
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        ScenarioRun scenario = SCENARIO.get();
+        return () -> {
+            SCENARIO.set(scenario);
+            try {
+                return task.get();
+            } finally {
+                SCENARIO.remove();
+            }
+        };
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ScenarioRun scenario = SCENARIO.get() != null ? SCENARIO.get() : NO_SCENARIO;
+        String request = requestKey(requestSpec);
+        if (MODE == Mode.REPLAY) {
+            return replay(scenario, request);
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        StringBuilder headers = new StringBuilder();
+        for (Header header : response.getHeaders()) {
+            headers.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+        byte[] body;
+        try (InputStream in = ResponseBodies.open(response)) {
+            body = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read the response body to record", e);
+        }
+        append(encode(scenario.id, request, response.getStatusCode(), headers.toString(), body));
+        return response;
+    }
+    
+    private static String requestKey(FilterableRequestSpecification requestSpec) {
+        URI uri = URI.create(requestSpec.getURI());
+        String target = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        Object body = requestSpec.getBody();
+        CRC32 crc = new CRC32();
+        if (body != null) {
+            crc.update(body instanceof byte[] ? (byte[]) body : body.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        // Host and port are left out: the stub listens on a new port every run
+        return requestSpec.getMethod() + " " + target + " " + Long.toHexString(crc.getValue());
+    }
+    
+    private static ByteBuffer encode(String scenario, String request, int status, String headers, byte[] body) {
+        byte[] scenarioBytes = scenario.getBytes(StandardCharsets.UTF_8);
+        byte[] requestBytes = request.getBytes(StandardCharsets.UTF_8);
+        byte[] headerBytes = headers.getBytes(StandardCharsets.UTF_8);
+        int length = 4 + scenarioBytes.length + 4 + requestBytes.length + 4 + 4 + headerBytes.length + 4 + body.length;
+        ByteBuffer record = ByteBuffer.allocate(4 + length);
+        record.putInt(length);
+        record.putInt(scenarioBytes.length).put(scenarioBytes);
+        record.putInt(requestBytes.length).put(requestBytes);
+        record.putInt(status);
+        record.putInt(headerBytes.length).put(headerBytes);
+        record.putInt(body.length).put(body);
+        return record.flip();
+    }
+    
+    private static synchronized void append(ByteBuffer record) {
+        try {
+            if (recording == null) {
+                Path file = file().toAbsolutePath();
+                Files.createDirectories(file.getParent());
+                recording = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+                System.out.println("Recording HTTP exchanges to " + file);
+            }
+            while (record.hasRemaining()) {
+                recording.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to HTTP archive " + file(), e);
+        }
+    }
+    
+    private static Response replay(ScenarioRun scenario, String request) {
+        Map<String, Map<String, List<Integer>>> index;
+        MappedByteBuffer archive;
+        synchronized (HttpArchive.class) {
+            if (replayIndex == null) {
+                loadReplayIndex();
+            }
+            index = replayIndex;
+            archive = replayArchive;
+        }
+        List<Integer> recorded = index.getOrDefault(scenario.id, Map.of()).get(request);
+        // Every run of a scenario replays from its first exchange, so reruns and load mode work too
+        int next = scenario.replayed.computeIfAbsent(request, r -> new AtomicInteger()).getAndIncrement();
+        if (recorded == null || next >= recorded.size()) {
+            throw new IllegalStateException("No recorded exchange left for " + request + " in scenario " + scenario.id
+                    + "; record it again with -Dhttp.archive.mode=record");
+        }
+        int offset = recorded.get(next);
+        
+        ByteBuffer record = archive.duplicate().position(offset);
+        skip(record);
+        skip(record);
+        int status = record.getInt();
+        ResponseBuilder response = new ResponseBuilder().setStatusCode(status).setStatusLine("HTTP/1.1 " + status);
+        List<Header> headers = new ArrayList<>();
+        String contentType = "";
+        for (String line : new String(bytes(record), StandardCharsets.UTF_8).split("\n")) {
+            int colon = line.indexOf(": ");
+            if (colon > 0) {
+                headers.add(new Header(line.substring(0, colon), line.substring(colon + 2)));
+                if (line.regionMatches(true, 0, "Content-Type", 0, colon)) {
+                    contentType = line.substring(colon + 2);
+                }
+            }
+        }
+        return ResponseBodies.buffer(response.setHeaders(new Headers(headers))
+                .setContentType(contentType)
+                .setBody(bytes(record))
+                .build());
+    }
+    
+    /**
+     * Map the archive and index each scenario's records by request key, in recorded order
+     */
+    private static void loadReplayIndex() {
+        Path file = file();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            replayArchive = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open HTTP archive " + file + " for replay", e);
+        }
+        Map<String, Map<String, List<Integer>>> index = new HashMap<>();
+        ByteBuffer records = replayArchive.duplicate();
+        while (records.remaining() >= 4) {
+            int length = records.getInt();
+            if (length > records.remaining()) {
+                // A run that was killed mid-append leaves a truncated last record
+                break;
+            }
+            int start = records.position();
+            String scenario = new String(bytes(records), StandardCharsets.UTF_8);
+            String request = new String(bytes(records), StandardCharsets.UTF_8);
+            if (records.getInt() == MARKER) {
+                index.put(scenario, new HashMap<>());
+            } else {
+                index.computeIfAbsent(scenario, s -> new HashMap<>())
+                        .computeIfAbsent(request, r -> new ArrayList<>())
+                        .add(start);
+            }
+            records.position(start + length);
+        }
+        replayIndex = index;
+        System.out.println("Replaying HTTP exchanges of " + index.size() + " scenarios from " + file);
+    }
+    
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+    
+    private static void skip(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        buffer.position(buffer.position() + length);
+    }
+    
+    /**
+     * One run of a scenario: its archive id and, when replaying, how many exchanges of each
+     * request it has been served
+     */
+    private static final class ScenarioRun {
+        
+        private final String id;
+        private final Map<String, AtomicInteger> replayed = new ConcurrentHashMap<>();
+        
+        private ScenarioRun(String id) {
+            this.id = id;
+        }
+    }
+    
+    private enum Mode {
+        OFF, RECORD, REPLAY;
+        
+        static Mode parse(String value) {
+            String normalized = value.trim().toUpperCase(Locale.ROOT);
+            for (Mode mode : values()) {
+                if (mode.name().equals(normalized)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown http.archive.mode '" + value + "', expected off, record or replay");
+        }
+    }
+}
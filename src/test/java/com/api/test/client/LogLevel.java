@@ -0,0 +1,45 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Request/response logging levels, selected with {@code logging.level} in config.properties
+ */
+public enum LogLevel {
+    
+    /** No request/response logging */
+    OFF,
+    
+    /** Request and status lines plus headers, no bodies */
+    HEADERS,
+    
+    /** Full exchanges buffered per scenario and printed only if the scenario fails */
+    ON_FAILURE,
+    
+    /** Full exchanges printed as they happen */
+    FULL;
+    
+    /**
+     * Parse a level name, accepting any case and '-' in place of '_'
+     */
+    public static LogLevel parse(String value) {
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (LogLevel level : values()) {
+            if (level.name().equals(normalized)) {
+                return level;
+            }
+        }
+        throw new IllegalArgumentException("Unknown logging.level '" + value + "', expected one of "
+                + Arrays.toString(values()));
+    }
+    
+    /**
+     * Level configured for this run
+     */
+    public static LogLevel configured() {
+        return parse(TestConfig.get("logging.level", ON_FAILURE.name()));
+    }
+}
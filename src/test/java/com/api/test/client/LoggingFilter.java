@@ -0,0 +1,95 @@
+package com.api.test.client;
+
+import com.api.test.model.JsonMapping;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Logs HTTP exchanges according to a {@link LogLevel}.
+ * <p>
+ * Only what is needed to describe the exchange is captured on the request path; headers
+ * and bodies are rendered (and JSON pretty-printed) when the output is emitted. Each
+ * exchange is written with a single print call so parallel threads don't interleave.
+ */
+class LoggingFilter implements Filter {
+    
+    private static final ObjectMapper MAPPER = JsonMapping.mapper();
+    
+    private final LogLevel level;
+    
+    LoggingFilter(LogLevel level) {
+        this.level = level;
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        
+        String method = requestSpec.getMethod();
+        String uri = requestSpec.getURI();
+        Headers requestHeaders = requestSpec.getHeaders();
+        Object requestBody = requestSpec.getBody();
+        
+        switch (level) {
+            case HEADERS:
+                System.out.print(format(method, uri, requestHeaders, null, response, false, false));
+                break;
+            case ON_FAILURE:
+                ScenarioLog.record(() -> format(method, uri, requestHeaders, requestBody, response, true, true));
+                break;
+            case FULL:
+                System.out.print(format(method, uri, requestHeaders, requestBody, response, true, false));
+                break;
+            default:
+                break;
+        }
+        return response;
+    }
+    
+    private static String format(String method, String uri, Headers requestHeaders, Object requestBody,
+                                 Response response, boolean includeBodies, boolean truncateBody) {
+        StringBuilder out = new StringBuilder();
+        out.append(">> ").append(method).append(' ').append(uri).append('\n');
+        appendHeaders(out, requestHeaders);
+        if (includeBodies && requestBody != null) {
+            out.append(prettify(bodyAsString(requestBody))).append('\n');
+        }
+        out.append("<< ").append(response.getStatusLine()).append('\n');
+        appendHeaders(out, response.getHeaders());
+        if (includeBodies) {
+            String body = truncateBody ? ResponseBodies.preview(response) : response.getBody().asString();
+            out.append(prettify(body)).append('\n');
+        }
+        return out.toString();
+    }
+    
+    private static void appendHeaders(StringBuilder out, Headers headers) {
+        headers.forEach(header -> out.append("   ").append(header.getName())
+                .append(": ").append(header.getValue()).append('\n'));
+    }
+    
+    private static String bodyAsString(Object body) {
+        return body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : String.valueOf(body);
+    }
+    
+    private static String prettify(String body) {
+        if (body.isEmpty()) {
+            return body;
+        }
+        try {
+            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(MAPPER.readTree(body));
+        } catch (Exception e) {
+            // Not JSON, log as-is
+            return body;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.api.test.client;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records each request into {@link RequestMetrics}, keyed by method and path template
+ */
+class MetricsFilter implements Filter {
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        RequestMetrics.Endpoint endpoint =
+                RequestMetrics.endpoint(requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath());
+        long sent = bodyLength(requestSpec.getBody());
+        endpoint.started();
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            endpoint.finished(System.nanoTime() - start, response.getStatusCode() >= 400,
+                    sent, ResponseBodies.size(response));
+            return response;
+        } catch (RuntimeException e) {
+            endpoint.finished(System.nanoTime() - start, true, sent, 0);
+            throw e;
+        }
+    }
+    
+    private static long bodyLength(Object body) {
+        if (body == null) {
+            return 0;
+        }
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        // UTF-8 length without encoding a copy of the body
+        String text = body.toString();
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
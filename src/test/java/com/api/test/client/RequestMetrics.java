@@ -0,0 +1,130 @@
+package com.api.test.client;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint request metrics: latency histograms, error counts, in-flight gauges and body bytes.
+ * <p>
+ * Endpoints are keyed by method and path template, e.g. {@code GET /objects/{id}}. Latencies go
+ * into an HdrHistogram {@link Recorder}, whose writers are wait-free, so recording from many
+ * scenario threads never contends on a lock; readers drain interval histograms into a running total.
+ */
+public final class RequestMetrics {
+    
+    private static final String REPORT_FILE = "target/metrics/request-metrics.txt";
+    private static final long START_NANOS = System.nanoTime();
+    private static final ConcurrentMap<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+    
+    private RequestMetrics() {
+    }
+    
+    static Endpoint endpoint(String name) {
+        return ENDPOINTS.computeIfAbsent(name, key -> new Endpoint());
+    }
+    
+    /**
+     * Requests in flight right now, over all endpoints
+     */
+    public static int inFlight() {
+        int inFlight = 0;
+        for (Endpoint endpoint : ENDPOINTS.values()) {
+            inFlight += endpoint.inFlight.get();
+        }
+        return inFlight;
+    }
+    
+    /**
+     * Table of throughput, errors, latency percentiles and body bytes per endpoint
+     */
+    public static String report(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder(String.format("%-24s %9s %9s %8s %8s %6s %9s %9s %9s %9s %9s %11s %11s%n",
+                "Endpoint", "Requests", "Req/s", "Errors", "Retries", "Peak", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms", "Sent KB", "Recv KB"));
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(ENDPOINTS).entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            Histogram latency = endpoint.latency();
+            long requests = endpoint.requests.sum();
+            out.append(String.format("%-24s %9d %9.1f %7.2f%% %8d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %11.1f %11.1f%n",
+                    entry.getKey(), requests, requests / elapsedSeconds,
+                    requests == 0 ? 0.0 : 100.0 * endpoint.errors.sum() / requests, endpoint.retries.sum(),
+                    endpoint.peakInFlight.get(),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()),
+                    endpoint.bytesSent.sum() / 1024.0, endpoint.bytesReceived.sum() / 1024.0));
+        }
+        return out.toString();
+    }
+    
+    /**
+     * Write the report for everything recorded since startup to target/metrics
+     */
+    public static void writeReport() {
+        if (ENDPOINTS.isEmpty()) {
+            return;
+        }
+        double elapsedSeconds = (System.nanoTime() - START_NANOS) / 1e9;
+        Path path = Paths.get(REPORT_FILE);
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(path, report(elapsedSeconds).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Unable to write " + REPORT_FILE + ": " + e.getMessage());
+        }
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+    
+    static final class Endpoint {
+        private final Recorder recorder = new Recorder(3);
+        private final Histogram total = new Histogram(3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+        
+        void started() {
+            int current = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(current, Math::max);
+        }
+        
+        void finished(long latencyNanos, boolean error, long sent, long received) {
+            inFlight.decrementAndGet();
+            recorder.recordValue(latencyNanos);
+            requests.increment();
+            if (error) {
+                errors.increment();
+            }
+            bytesSent.add(sent);
+            bytesReceived.add(received);
+        }
+        
+        void retried() {
+            retries.increment();
+        }
+        
+        private synchronized Histogram latency() {
+            total.add(recorder.getIntervalHistogram());
+            return total.copy();
+        }
+    }
+}
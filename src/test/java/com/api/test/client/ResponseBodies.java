@@ -0,0 +1,166 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.response.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Response bodies, buffered in heap up to {@code http.body.spill.threshold.bytes} and spilled to a
+ * memory-mapped temporary file above it.
+ * <p>
+ * A spilled response carries only a head/tail preview as its rest-assured body, so {@code asString()}
+ * and logging never pull the whole payload into heap. Code that needs the full body reads it through
+ * {@link #open(Response)}. The temporary file is unlinked as soon as it is mapped; its pages are
+ * released when the response becomes unreachable.
+ */
+public final class ResponseBodies {
+    
+    private static final int SPILL_THRESHOLD = TestConfig.getInt("http.body.spill.threshold.bytes", 1 << 20);
+    private static final int PREVIEW_BYTES = TestConfig.getInt("http.body.preview.bytes", 1024);
+    
+    private static final Map<Response, MappedByteBuffer> SPILLED = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    private ResponseBodies() {
+    }
+    
+    /**
+     * Read the body off the connection so it is released to the pool, spilling it if it is too large
+     */
+    static Response buffer(Response response) {
+        if (!(response instanceof RestAssuredResponseOptionsImpl)) {
+            response.asByteArray();
+            return response;
+        }
+        RestAssuredResponseOptionsImpl<?> options = (RestAssuredResponseOptionsImpl<?>) response;
+        try (InputStream in = response.asInputStream()) {
+            byte[] head = in.readNBytes(SPILL_THRESHOLD + 1);
+            if (head.length <= SPILL_THRESHOLD) {
+                options.setContent(head);
+                return response;
+            }
+            MappedByteBuffer body = spill(head, in);
+            options.setContent(preview(body).getBytes(StandardCharsets.UTF_8));
+            SPILLED.put(response, body);
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the response body", e);
+        }
+    }
+    
+    private static MappedByteBuffer spill(byte[] head, InputStream rest) throws IOException {
+        Path file = Files.createTempFile("response-body-", ".tmp");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(head));
+            ReadableByteChannel source = Channels.newChannel(rest);
+            long position = head.length;
+            long transferred;
+            while ((transferred = channel.transferFrom(source, position, Long.MAX_VALUE)) > 0) {
+                position += transferred;
+            }
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("Response body of " + position + " bytes is too large to map");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, position);
+        } finally {
+            // The mapping outlives the file on POSIX systems; elsewhere it goes when the JVM exits
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+    
+    /**
+     * Whether the body of this response lives in a spill file rather than in heap
+     */
+    public static boolean isSpilled(Response response) {
+        return SPILLED.containsKey(response);
+    }
+    
+    /**
+     * The full body as a stream, read from the spill file when there is one
+     */
+    public static InputStream open(Response response) {
+        MappedByteBuffer spilled = SPILLED.get(response);
+        return spilled != null
+                ? new BufferInputStream(spilled.duplicate())
+                : new ByteArrayInputStream(response.asByteArray());
+    }
+    
+    /**
+     * Size in bytes of the full body
+     */
+    public static long size(Response response) {
+        MappedByteBuffer spilled = SPILLED.get(response);
+        return spilled != null ? spilled.capacity() : response.asByteArray().length;
+    }
+    
+    /**
+     * The body for reports: in full when short, otherwise its head and tail around an elision marker
+     */
+    public static String preview(Response response) {
+        MappedByteBuffer spilled = SPILLED.get(response);
+        return spilled != null ? response.asString() : preview(ByteBuffer.wrap(response.asByteArray()));
+    }
+    
+    private static String preview(ByteBuffer body) {
+        int size = body.remaining();
+        if (size <= 2 * PREVIEW_BYTES) {
+            return StandardCharsets.UTF_8.decode(body.duplicate()).toString();
+        }
+        ByteBuffer head = body.duplicate();
+        head.limit(PREVIEW_BYTES);
+        ByteBuffer tail = body.duplicate();
+        tail.position(size - PREVIEW_BYTES);
+        return StandardCharsets.UTF_8.decode(head)
+                + "\n... [" + (size - 2 * PREVIEW_BYTES) + " of " + size + " bytes omitted] ...\n"
+                + StandardCharsets.UTF_8.decode(tail);
+    }
+    
+    private static final class BufferInputStream extends InputStream {
+        
+        private final ByteBuffer buffer;
+        
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+        
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+        
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
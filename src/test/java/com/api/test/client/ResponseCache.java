@@ -0,0 +1,167 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+import io.restassured.response.Response;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in cache of GET responses for one client, keyed by URL ({@code http.cache.*}).
+ * <p>
+ * An entry is served without a request while fresh, for the response's
+ * {@code Cache-Control: max-age} or else {@code http.cache.ttl.millis}. After that it is
+ * revalidated with {@code If-None-Match}/{@code If-Modified-Since}, and a 304 serves the cached
+ * response again. Mutations through the client invalidate the object's entry and every list.
+ * The least recently used entries are evicted beyond {@code http.cache.max.entries} or
+ * {@code http.cache.max.bytes}.
+ */
+class ResponseCache {
+    
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    
+    private ResponseCache(long ttlMillis, int maxEntries, long maxBytes) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * A cache for a new client, or null when caching is disabled
+     */
+    static ResponseCache create() {
+        if (!TestConfig.getBoolean("http.cache.enabled", false)) {
+            return null;
+        }
+        return new ResponseCache(TestConfig.getLong("http.cache.ttl.millis", 0),
+                TestConfig.getInt("http.cache.max.entries", 256),
+                TestConfig.getLong("http.cache.max.bytes", 16L << 20));
+    }
+    
+    /**
+     * The cached response if it can be served without asking the server, else null
+     */
+    synchronized Response fresh(String url) {
+        Entry entry = entries.get(url);
+        return entry != null && System.nanoTime() - entry.freshUntil < 0 ? entry.response : null;
+    }
+    
+    /**
+     * Conditional request headers for a stale entry; empty if there is nothing to revalidate
+     */
+    synchronized Map<String, String> validators(String url) {
+        Map<String, String> headers = new HashMap<>();
+        Entry entry = entries.get(url);
+        if (entry != null) {
+            if (entry.etag != null) {
+                headers.put("If-None-Match", entry.etag);
+            }
+            if (entry.lastModified != null) {
+                headers.put("If-Modified-Since", entry.lastModified);
+            }
+        }
+        return headers;
+    }
+    
+    /**
+     * Stores a 200 response, or turns a 304 into the cached response; returns what the caller sees
+     */
+    synchronized Response update(String url, Response response) {
+        Entry cached = entries.get(url);
+        if (response.getStatusCode() == 304 && cached != null) {
+            cached.freshUntil = System.nanoTime() + freshFor(response);
+            return cached.response;
+        }
+        remove(url);
+        String cacheControl = String.valueOf(response.getHeader("Cache-Control"));
+        if (response.getStatusCode() != 200 || cacheControl.contains("no-store") || ResponseBodies.isSpilled(response)) {
+            return response;
+        }
+        Entry entry = new Entry(response, response.getHeader("ETag"), response.getHeader("Last-Modified"),
+                System.nanoTime() + freshFor(response), ResponseBodies.size(response));
+        if (entry.etag == null && entry.lastModified == null && entry.freshUntil - System.nanoTime() <= 0) {
+            // Neither fresh nor revalidatable: caching it would never save a request
+            return response;
+        }
+        entries.put(url, entry);
+        bytes += entry.size;
+        evict();
+        return response;
+    }
+    
+    /**
+     * Drops the entry for {@code url}, if given, and every entry under {@code listUrl}, including queries
+     */
+    synchronized void invalidate(String url, String listUrl) {
+        if (url != null) {
+            remove(url);
+        }
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> next = it.next();
+            if (next.getKey().equals(listUrl) || next.getKey().startsWith(listUrl + "?")) {
+                bytes -= next.getValue().size;
+                it.remove();
+            }
+        }
+    }
+    
+    private long freshFor(Response response) {
+        String cacheControl = response.getHeader("Cache-Control");
+        if (cacheControl != null) {
+            for (String directive : cacheControl.split(",")) {
+                String trimmed = directive.trim();
+                if (trimmed.equals("no-cache")) {
+                    return 0;
+                }
+                if (trimmed.startsWith("max-age=")) {
+                    try {
+                        return TimeUnit.SECONDS.toNanos(Long.parseLong(trimmed.substring("max-age=".length())));
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return ttlNanos;
+    }
+    
+    private void remove(String url) {
+        Entry removed = entries.remove(url);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+    }
+    
+    private void evict() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().size;
+            eldest.remove();
+        }
+    }
+    
+    private static final class Entry {
+        
+        private final Response response;
+        private final String etag;
+        private final String lastModified;
+        private final long size;
+        private long freshUntil;
+        
+        private Entry(Response response, String etag, String lastModified, long freshUntil, long size) {
+            this.response = response;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.freshUntil = freshUntil;
+            this.size = size;
+        }
+    }
+}
@@ -1,116 +1,303 @@
 package com.api.test.client;
 
+import com.api.test.config.TestConfig;
 import com.api.test.model.ApiObject;
-import io.restassured.RestAssured;
+import com.api.test.model.JsonMapping;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
 import static io.restassured.RestAssured.given;
 
 public class RestApiClient {
     
-    private String baseUrl;
+    private final String baseUrl;
+    private final RequestSpecification requestSpec;
+    private final ResponseCache cache;
     private static final String OBJECTS_ENDPOINT = "/objects";
+    private static final String OBJECT_BY_ID_ENDPOINT = OBJECTS_ENDPOINT + "/{id}";
+    private static final Map<String, RestApiClient> CLIENTS = new ConcurrentHashMap<>();
+    
+    /**
+     * The client for {@code baseUrl}, built on first use and shared for the rest of the JVM.
+     * Clients keep no scenario state (retry budgets, logs and archive scenarios are per thread),
+     * so parallel scenarios share one, and with it its response cache.
+     */
+    public static RestApiClient forBaseUrl(String baseUrl) {
+        return CLIENTS.computeIfAbsent(baseUrl, RestApiClient::new);
+    }
     
     public RestApiClient(String baseUrl) {
         this.baseUrl = baseUrl;
-        RestAssured.baseURI = baseUrl;
+        // Per-instance spec so parallel scenarios never touch the static RestAssured.baseURI
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setConfig(RestAssuredConfig.config().httpClient(ConnectionPool.httpClientConfig()))
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON);
+        LogLevel logLevel = LogLevel.configured();
+        if (logLevel != LogLevel.OFF) {
+            builder.addFilter(new LoggingFilter(logLevel));
+        }
+        // Throttling waits happen before metrics, so timings cover only the exchange itself
+        ThrottleFilter throttle = ThrottleFilter.forBaseUrl(baseUrl);
+        if (throttle != null) {
+            builder.addFilter(throttle);
+        }
+        builder.addFilter(new MetricsFilter());
+        // Replayed exchanges never reach the buffering and transport filters below
+        HttpArchive archive = HttpArchive.configured();
+        if (archive != null) {
+            builder.addFilter(archive);
+        }
+        // Read every body eagerly: a body left unread keeps its pooled connection leased
+        builder.addFilter((requestSpec, responseSpec, ctx) -> ResponseBodies.buffer(ctx.next(requestSpec, responseSpec)));
+        Http2Transport http2 = Http2Transport.configured();
+        if (http2 != null) {
+            builder.addFilter(http2);
+        }
+        this.requestSpec = builder.build();
+        this.cache = ResponseCache.create();
     }
     
     private RequestSpecification getRequestSpec() {
         return given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .log().all();
+                .spec(requestSpec);
     }
     
     /**
      * Create a new object
      */
     public Response createObject(ApiObject apiObject) {
-        return getRequestSpec()
-                .body(apiObject)
+        invalidate(null);
+        return RetryPolicy.execute("POST", OBJECTS_ENDPOINT, () -> getRequestSpec()
+                .body(JsonMapping.toBytes(apiObject))
                 .when()
                 .post(OBJECTS_ENDPOINT)
                 .then()
-                .log().all()
-                .extract().response();
+                .extract().response());
+    }
+    
+    /**
+     * Create several objects concurrently, with up to {@code http.bulk.window} requests in flight
+     */
+    public List<Response> createObjects(List<ApiObject> apiObjects) {
+        return createObjects(apiObjects, TestConfig.getInt("http.bulk.window", 8));
+    }
+    
+    /**
+     * Create several objects concurrently, with up to {@code window} requests in flight.
+     * Responses are returned in the order of the objects.
+     */
+    public List<Response> createObjects(List<ApiObject> apiObjects, int window) {
+        Semaphore permits = new Semaphore(window);
+        List<CompletableFuture<Response>> creates = new ArrayList<>(apiObjects.size());
+        for (ApiObject apiObject : apiObjects) {
+            permits.acquireUninterruptibly();
+            CompletableFuture<Response> create = createObjectAsync(apiObject);
+            create.whenComplete((response, error) -> permits.release());
+            creates.add(create);
+        }
+        
+        List<Response> responses = new ArrayList<>(creates.size());
+        Throwable failure = null;
+        for (CompletableFuture<Response> create : creates) {
+            try {
+                responses.add(create.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw new BulkCreateException((creates.size() - responses.size()) + " of " + creates.size()
+                    + " creates failed", failure, responses);
+        }
+        return responses;
     }
     
     /**
      * Create an object with invalid JSON
      */
     public Response createObjectWithInvalidJson(String invalidJson) {
-        return getRequestSpec()
+        return RetryPolicy.execute("POST", OBJECTS_ENDPOINT, () -> getRequestSpec()
                 .body(invalidJson)
                 .when()
                 .post(OBJECTS_ENDPOINT)
                 .then()
-                .log().all()
-                .extract().response();
+                .extract().response());
     }
     
     /**
      * Get object by ID
      */
     public Response getObjectById(String id) {
-        return getRequestSpec()
-                .when()
-                .get(OBJECTS_ENDPOINT + "/" + id)
-                .then()
-                .log().all()
-                .extract().response();
+        return cachedGet(objectUrl(id), OBJECT_BY_ID_ENDPOINT, id);
+    }
+    
+    /**
+     * Get object by ID from the server, even if the response cache holds it
+     */
+    public Response getObjectByIdBypassingCache(String id) {
+        return get(Map.of(), OBJECT_BY_ID_ENDPOINT, id);
     }
     
     /**
      * Get all objects
      */
     public Response getAllObjects() {
-        return getRequestSpec()
-                .when()
-                .get(OBJECTS_ENDPOINT)
-                .then()
-                .log().all()
-                .extract().response();
+        return cachedGet(baseUrl + OBJECTS_ENDPOINT, OBJECTS_ENDPOINT);
     }
     
     /**
      * Update an existing object (PUT)
      */
     public Response updateObject(String id, ApiObject apiObject) {
-        return getRequestSpec()
-                .body(apiObject)
+        invalidate(id);
+        return RetryPolicy.execute("PUT", OBJECT_BY_ID_ENDPOINT, () -> getRequestSpec()
+                .body(JsonMapping.toBytes(apiObject))
                 .when()
-                .put(OBJECTS_ENDPOINT + "/" + id)
+                .put(OBJECT_BY_ID_ENDPOINT, id)
                 .then()
-                .log().all()
-                .extract().response();
+                .extract().response());
     }
     
     /**
      * Partially update an object (PATCH)
      */
     public Response patchObject(String id, ApiObject apiObject) {
-        return getRequestSpec()
-                .body(apiObject)
+        invalidate(id);
+        return RetryPolicy.execute("PATCH", OBJECT_BY_ID_ENDPOINT, () -> getRequestSpec()
+                .body(JsonMapping.toBytes(apiObject))
                 .when()
-                .patch(OBJECTS_ENDPOINT + "/" + id)
+                .patch(OBJECT_BY_ID_ENDPOINT, id)
                 .then()
-                .log().all()
-                .extract().response();
+                .extract().response());
     }
     
     /**
      * Delete an object
      */
     public Response deleteObject(String id) {
-        return getRequestSpec()
+        invalidate(id);
+        return RetryPolicy.execute("DELETE", OBJECT_BY_ID_ENDPOINT, () -> getRequestSpec()
                 .when()
-                .delete(OBJECTS_ENDPOINT + "/" + id)
+                .delete(OBJECT_BY_ID_ENDPOINT, id)
                 .then()
-                .log().all()
-                .extract().response();
+                .extract().response());
+    }
+    
+    /**
+     * Create a new object asynchronously
+     */
+    public CompletableFuture<Response> createObjectAsync(ApiObject apiObject) {
+        return async(() -> createObject(apiObject));
+    }
+    
+    /**
+     * Create an object with invalid JSON asynchronously
+     */
+    public CompletableFuture<Response> createObjectWithInvalidJsonAsync(String invalidJson) {
+        return async(() -> createObjectWithInvalidJson(invalidJson));
+    }
+    
+    /**
+     * Get object by ID asynchronously
+     */
+    public CompletableFuture<Response> getObjectByIdAsync(String id) {
+        return async(() -> getObjectById(id));
+    }
+    
+    /**
+     * Get all objects asynchronously
+     */
+    public CompletableFuture<Response> getAllObjectsAsync() {
+        return async(this::getAllObjects);
+    }
+    
+    /**
+     * Update an existing object (PUT) asynchronously
+     */
+    public CompletableFuture<Response> updateObjectAsync(String id, ApiObject apiObject) {
+        return async(() -> updateObject(id, apiObject));
+    }
+    
+    /**
+     * Partially update an object (PATCH) asynchronously
+     */
+    public CompletableFuture<Response> patchObjectAsync(String id, ApiObject apiObject) {
+        return async(() -> patchObject(id, apiObject));
+    }
+    
+    /**
+     * Delete an object asynchronously
+     */
+    public CompletableFuture<Response> deleteObjectAsync(String id) {
+        return async(() -> deleteObject(id));
+    }
+    
+    /**
+     * Run a sequence of calls as one asynchronous task, under the calling scenario's retry budget,
+     * exchange log and recording
+     */
+    public <T> CompletableFuture<T> sequenceAsync(Supplier<T> calls) {
+        return async(calls);
+    }
+    
+    private Response cachedGet(String url, String endpoint, Object... pathParams) {
+        if (cache == null) {
+            return get(Map.of(), endpoint, pathParams);
+        }
+        Response fresh = cache.fresh(url);
+        if (fresh != null) {
+            return fresh;
+        }
+        Response response = cache.update(url, get(cache.validators(url), endpoint, pathParams));
+        if (response.getStatusCode() == 304) {
+            // The entry was evicted or invalidated while the conditional request was in flight
+            response = cache.update(url, get(Map.of(), endpoint, pathParams));
+        }
+        return response;
+    }
+    
+    private Response get(Map<String, String> headers, String endpoint, Object... pathParams) {
+        return RetryPolicy.execute("GET", endpoint, () -> getRequestSpec()
+                .headers(headers)
+                .when()
+                .get(endpoint, pathParams)
+                .then()
+                .extract().response());
+    }
+    
+    /**
+     * Drops cached responses a mutation may change: the object's own and every list
+     */
+    private void invalidate(String id) {
+        if (cache != null) {
+            cache.invalidate(id == null ? null : objectUrl(id), baseUrl + OBJECTS_ENDPOINT);
+        }
+    }
+    
+    private String objectUrl(String id) {
+        return baseUrl + OBJECTS_ENDPOINT + "/" + id;
+    }
+    
+    private static <T> CompletableFuture<T> async(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(RetryPolicy.propagate(ScenarioLog.propagate(HttpArchive.propagate(call))), AsyncExecutor.executor());
     }
     
     /**
@@ -0,0 +1,155 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Retries transient failures of RestApiClient operations: connection errors and the statuses in
+ * {@code http.retry.statuses}.
+ * <p>
+ * GET, PUT and DELETE are idempotent and retried by default; POST only with
+ * {@code http.retry.post.enabled}. Delays use full jitter over an exponential backoff, and a
+ * Retry-After header is honoured up to {@code http.retry.max.delay.millis}. Each scenario gets a
+ * budget of {@code http.retry.budget.per.scenario} retries, so a persistently failing backend
+ * fails fast instead of multiplying the run time. Retries are counted per endpoint in
+ * {@link RequestMetrics}.
+ */
+public final class RetryPolicy {
+    
+    private static final int MAX_RETRIES = TestConfig.getInt("http.retry.max.retries", 2);
+    private static final long BASE_DELAY_MILLIS = TestConfig.getLong("http.retry.base.delay.millis", 100);
+    private static final long MAX_DELAY_MILLIS = TestConfig.getLong("http.retry.max.delay.millis", 5000);
+    private static final boolean RETRY_POST = TestConfig.getBoolean("http.retry.post.enabled", false);
+    private static final int BUDGET_PER_SCENARIO = TestConfig.getInt("http.retry.budget.per.scenario", 10);
+    private static final Set<Integer> RETRY_STATUSES = Arrays.stream(
+                    TestConfig.get("http.retry.statuses", "429,502,503,504").split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .collect(Collectors.toSet());
+    
+    private static final ThreadLocal<AtomicInteger> BUDGET =
+            ThreadLocal.withInitial(() -> new AtomicInteger(BUDGET_PER_SCENARIO));
+    
+    private RetryPolicy() {
+    }
+    
+    /**
+     * Give the current thread a fresh retry budget, e.g. at the start of a scenario
+     */
+    public static void resetBudget() {
+        BUDGET.set(new AtomicInteger(BUDGET_PER_SCENARIO));
+    }
+    
+    /**
+     * Wrap a task so that retries it makes on another thread draw on the current thread's budget
+     */
+    static <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicInteger budget = BUDGET.get();
+        return () -> {
+            BUDGET.set(budget);
+            try {
+                return task.get();
+            } finally {
+                BUDGET.remove();
+            }
+        };
+    }
+    
+    /**
+     * Run a request, retrying it while it fails transiently and retries are allowed
+     */
+    static Response execute(String method, String path, Supplier<Response> request) {
+        boolean idempotent = !"POST".equals(method) && !"PATCH".equals(method);
+        boolean retryable = idempotent || RETRY_POST && "POST".equals(method);
+        for (int attempt = 0; ; attempt++) {
+            Response response;
+            try {
+                response = request.get();
+            } catch (Exception e) {
+                // Rest-assured may throw the underlying IOException undeclared
+                if (!isConnectionError(e) || !retryable || !takeRetry(attempt, method, path)) {
+                    throw e;
+                }
+                sleep(backoffMillis(attempt));
+                continue;
+            }
+            if (!RETRY_STATUSES.contains(response.getStatusCode()) || !retryable) {
+                return response;
+            }
+            long delayMillis = retryAfterMillis(response);
+            if (delayMillis < 0) {
+                delayMillis = backoffMillis(attempt);
+            } else if (delayMillis > MAX_DELAY_MILLIS) {
+                // The server asked for a longer pause than we are willing to wait
+                return response;
+            }
+            if (!takeRetry(attempt, method, path)) {
+                return response;
+            }
+            sleep(delayMillis);
+        }
+    }
+    
+    private static boolean takeRetry(int attempt, String method, String path) {
+        if (attempt >= MAX_RETRIES || BUDGET.get().getAndDecrement() <= 0) {
+            return false;
+        }
+        RequestMetrics.endpoint(method + " " + path).retried();
+        return true;
+    }
+    
+    private static boolean isConnectionError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static long backoffMillis(int attempt) {
+        long ceiling = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+    
+    /**
+     * Delay requested by a Retry-After header, in seconds or as an HTTP date; -1 if there is none
+     */
+    private static long retryAfterMillis(Response response) {
+        String value = response.getHeader("Retry-After");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * Per-scenario buffer of HTTP exchanges for {@link LogLevel#ON_FAILURE} logging.
+ * <p>
+ * Entries are kept as suppliers, so bodies are only formatted and pretty-printed when the
+ * buffer is actually flushed. A Cucumber scenario runs its steps and hooks on one thread,
+ * which makes a thread-local buffer scenario-scoped; asynchronous calls carry the caller's
+ * buffer over to the worker thread with {@link #propagate(Supplier)}.
+ */
+public final class ScenarioLog {
+    
+    private static final int MAX_EXCHANGES = TestConfig.getInt("logging.buffer.max.exchanges", 50);
+    
+    private static final ThreadLocal<Deque<Supplier<String>>> BUFFER = ThreadLocal.withInitial(ArrayDeque::new);
+    
+    private ScenarioLog() {
+    }
+    
+    /**
+     * Buffer an exchange, dropping the oldest one once the buffer is full
+     */
+    static void record(Supplier<String> exchange) {
+        Deque<Supplier<String>> buffer = BUFFER.get();
+        synchronized (buffer) {
+            if (buffer.size() >= MAX_EXCHANGES) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(exchange);
+        }
+    }
+    
+    /**
+     * Wrap a task so that exchanges it records on another thread land in the current thread's buffer
+     */
+    static <T> Supplier<T> propagate(Supplier<T> task) {
+        Deque<Supplier<String>> buffer = BUFFER.get();
+        return () -> {
+            BUFFER.set(buffer);
+            try {
+                return task.get();
+            } finally {
+                BUFFER.remove();
+            }
+        };
+    }
+    
+    /**
+     * Print and clear the exchanges buffered on the current thread
+     */
+    public static void flush() {
+        Deque<Supplier<String>> buffer = BUFFER.get();
+        StringBuilder output;
+        synchronized (buffer) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            output = new StringBuilder("Buffered HTTP exchanges (" + buffer.size() + "):\n");
+            for (Supplier<String> exchange : buffer) {
+                output.append(exchange.get()).append('\n');
+            }
+            buffer.clear();
+        }
+        System.out.print(output);
+    }
+    
+    /**
+     * Drop the exchanges buffered on the current thread without printing them
+     */
+    public static void discard() {
+        BUFFER.remove();
+    }
+}
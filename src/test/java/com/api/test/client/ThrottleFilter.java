@@ -0,0 +1,92 @@
+package com.api.test.client;
+
+import com.api.test.config.TestConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Client-side throttling, shared by every client of the same base URL: a token bucket
+ * ({@code http.rate.limit.*}) and an adaptive concurrency limit ({@code http.concurrency.*}).
+ */
+class ThrottleFilter implements Filter {
+    
+    private static final ConcurrentMap<String, ThrottleFilter> BY_BASE_URL = new ConcurrentHashMap<>();
+    
+    private final String baseUrl;
+    private final RateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    
+    private ThrottleFilter(String baseUrl, RateLimiter rateLimiter, ConcurrencyLimiter concurrencyLimiter) {
+        this.baseUrl = baseUrl;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+    
+    /**
+     * The throttle for a base URL, or null when neither limit is enabled
+     */
+    static ThrottleFilter forBaseUrl(String baseUrl) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return BY_BASE_URL.computeIfAbsent(baseUrl, ThrottleFilter::create);
+    }
+    
+    private static boolean isEnabled() {
+        return permitsPerSecond() > 0
+                || TestConfig.getBoolean("http.concurrency.adaptive.enabled", false);
+    }
+    
+    private static double permitsPerSecond() {
+        return Double.parseDouble(TestConfig.get("http.rate.limit.per.second", "0"));
+    }
+    
+    private static ThrottleFilter create(String baseUrl) {
+        double permitsPerSecond = permitsPerSecond();
+        RateLimiter rateLimiter = permitsPerSecond > 0
+                ? new RateLimiter(permitsPerSecond, TestConfig.getInt("http.rate.limit.burst", 10))
+                : null;
+        ConcurrencyLimiter concurrencyLimiter = TestConfig.getBoolean("http.concurrency.adaptive.enabled", false)
+                ? new ConcurrencyLimiter(
+                        TestConfig.getInt("http.concurrency.initial.limit", 16),
+                        TestConfig.getInt("http.concurrency.min.limit", 1),
+                        TestConfig.getInt("http.concurrency.max.limit", 200),
+                        Double.parseDouble(TestConfig.get("http.concurrency.backoff.ratio", "0.7")),
+                        Double.parseDouble(TestConfig.get("http.concurrency.latency.spike.ratio", "3.0")))
+                : null;
+        return new ThrottleFilter(baseUrl, rateLimiter, concurrencyLimiter);
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+        if (concurrencyLimiter == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        concurrencyLimiter.acquire();
+        long start = System.nanoTime();
+        int statusCode = -1;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            statusCode = response.getStatusCode();
+            return response;
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start, statusCode);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "ThrottleFilter{" + baseUrl + ", limit=" + (concurrencyLimiter != null ? concurrencyLimiter.limit() : "off") + '}';
+    }
+}
@@ -0,0 +1,53 @@
+package com.api.test.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Read-only access to config.properties, with system properties taking precedence
+ */
+public final class TestConfig {
+    
+    private static final String CONFIG_FILE = "config.properties";
+    private static final Properties PROPERTIES = load();
+    
+    private TestConfig() {
+    }
+    
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = TestConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + CONFIG_FILE, e);
+        }
+        return properties;
+    }
+    
+    /**
+     * Get a property, or the default value if it is not set
+     */
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key, PROPERTIES.getProperty(key));
+        return value != null && !value.trim().isEmpty() ? value.trim() : defaultValue;
+    }
+    
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+    
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+    
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+}
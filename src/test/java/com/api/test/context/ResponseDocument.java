@@ -0,0 +1,236 @@
+package com.api.test.context;
+
+import com.api.test.client.ResponseBodies;
+import com.api.test.model.ApiObject;
+import com.api.test.model.JsonMapping;
+import com.api.test.model.JsonSchemas;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Parse-once view of a response body.
+ * <p>
+ * The body is read into a single Jackson tree the first time it is needed, and every lookup
+ * after that walks the tree instead of re-parsing the body the way {@code Response.path()} does.
+ * Paths are dot-separated field names, so keys with spaces such as {@code data.CPU model}
+ * work as-is; {@code $} or an empty path is the root.
+ * <p>
+ * Checks over a top-level array (counting, membership, required fields) don't build the tree at
+ * all: they make a single streaming pass over the body, keep only the fields they need from the
+ * current element, and stop as soon as the answer is known.
+ */
+public class ResponseDocument {
+    
+    private static final ObjectMapper MAPPER = JsonMapping.mapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() { };
+    
+    private final Response response;
+    private volatile JsonNode root;
+    private ApiObject apiObject;
+    
+    public ResponseDocument(Response response) {
+        this.response = response;
+    }
+    
+    public Response getResponse() {
+        return response;
+    }
+    
+    /**
+     * Root of the parsed body, or a missing node if the body is empty or not JSON
+     */
+    public JsonNode root() {
+        JsonNode result = root;
+        if (result == null) {
+            try {
+                result = MAPPER.readTree(ResponseBodies.open(response));
+            } catch (IOException e) {
+                result = null;
+            }
+            root = result = result != null ? result : MissingNode.getInstance();
+        }
+        return result;
+    }
+    
+    /**
+     * Drop the parsed tree and bound object; they are rebuilt from the body if needed again
+     */
+    void release() {
+        root = null;
+        apiObject = null;
+    }
+    
+    /**
+     * Node at the given path, or a missing node if any part of the path is absent
+     */
+    public JsonNode node(String path) {
+        JsonNode node = root();
+        if (path.isEmpty() || "$".equals(path)) {
+            return node;
+        }
+        for (String field : path.split("\\.")) {
+            node = node.path(field);
+        }
+        return node;
+    }
+    
+    /**
+     * Text of the value at the given path, or null if it is absent or JSON null
+     */
+    public String getString(String path) {
+        JsonNode node = node(path);
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+    
+    /**
+     * Object at the given path as a map, or null if it is absent or not an object
+     */
+    public Map<String, Object> getMap(String path) {
+        JsonNode node = node(path);
+        return node.isObject() ? MAPPER.convertValue(node, MAP_TYPE) : null;
+    }
+    
+    /**
+     * Number of elements in the top-level array, counting no further than {@code limit}
+     */
+    public long countElements(long limit) {
+        long[] count = {0};
+        scanArray(Collections.emptySet(), fields -> ++count[0] < limit);
+        return count[0];
+    }
+    
+    /**
+     * Whether any element of the top-level array has the given text value for a field
+     */
+    public boolean anyElementHas(String field, String value) {
+        boolean[] found = {false};
+        scanArray(Collections.singleton(field), fields -> {
+            found[0] = value.equals(fields.get(field));
+            return !found[0];
+        });
+        return found[0];
+    }
+    
+    /**
+     * Index of the first element of the top-level array lacking one of the fields, or -1 if none does
+     */
+    public long firstElementMissing(Collection<String> requiredFields) {
+        Set<String> wanted = new HashSet<>(requiredFields);
+        long[] index = {-1};
+        long[] missing = {-1};
+        scanArray(wanted, fields -> {
+            index[0]++;
+            if (!fields.keySet().containsAll(wanted)) {
+                missing[0] = index[0];
+                return false;
+            }
+            return true;
+        });
+        return missing[0];
+    }
+    
+    /**
+     * The first element of the top-level array that doesn't match the named JSON schema, with
+     * its index and problems; null if all of them match. Elements are parsed one at a time.
+     */
+    public String firstElementViolating(String schema) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(ResponseBodies.open(response))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new AssertionError("Response body is not a JSON array");
+            }
+            long index = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new AssertionError("Response body ended inside the JSON array");
+                }
+                String violations = JsonSchemas.violations(schema, parser.readValueAsTree());
+                if (violations != null) {
+                    return "element " + index + " " + violations;
+                }
+                index++;
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read response body", e);
+        }
+    }
+    
+    /**
+     * Whether the whole body is a well-formed JSON array
+     */
+    public boolean isJsonArray() {
+        try {
+            scanArray(Collections.emptySet(), fields -> true);
+            return true;
+        } catch (AssertionError | UncheckedIOException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Stream the elements of the top-level array, passing each one's wanted top-level fields
+     * (as text, null for JSON null) to the visitor until it returns false
+     */
+    private void scanArray(Set<String> wantedFields, Predicate<Map<String, String>> visitor) {
+        Map<String, String> fields = new HashMap<>();
+        try (JsonParser parser = MAPPER.getFactory().createParser(ResponseBodies.open(response))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new AssertionError("Response body is not a JSON array");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new AssertionError("Response body ended inside the JSON array");
+                }
+                fields.clear();
+                if (token == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.getCurrentName();
+                        JsonToken value = parser.nextToken();
+                        if (wantedFields.contains(name)) {
+                            fields.put(name, value.isScalarValue() && value != JsonToken.VALUE_NULL ? parser.getText() : null);
+                        }
+                        parser.skipChildren();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+                if (!visitor.test(fields)) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read response body", e);
+        }
+    }
+    
+    /**
+     * The body bound to an ApiObject, converted once. Binds from the parsed tree when one
+     * exists, otherwise straight from the body bytes without building a tree.
+     */
+    public ApiObject asApiObject() {
+        if (apiObject == null) {
+            JsonNode parsed = root;
+            apiObject = parsed != null
+                    ? JsonMapping.toApiObject(parsed)
+                    : JsonMapping.toApiObject(ResponseBodies.open(response));
+        }
+        return apiObject;
+    }
+}
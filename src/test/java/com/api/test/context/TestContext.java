@@ -1,30 +1,42 @@
 package com.api.test.context;
 
 import com.api.test.client.RestApiClient;
+import com.api.test.config.TestConfig;
 import com.api.test.model.ApiObject;
+import io.cucumber.java.Scenario;
+import io.restassured.http.Headers;
 import io.restassured.response.Response;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Test context to share data between steps
+ * Test context to share data between steps.
+ * <p>
+ * Responses are numbered from 1 in the order they are recorded and kept in a bounded history
+ * ({@code test.context.history.size}); older ones are dropped unless saved under an alias.
+ * Only the current and previous responses keep their bodies; older ones keep just their status
+ * code and headers, unless saved under an alias. Created ids and test data may be added from
+ * async or bulk callbacks on other threads.
  */
 public class TestContext {
     
-    private RestApiClient apiClient;
-    private ApiObject currentObject;
-    private Response currentResponse;
-    private Response previousResponse;
-    private List<String> createdObjectIds;
-    private Map<String, Object> testData;
+    private static final int HISTORY_SIZE = Math.max(2, TestConfig.getInt("test.context.history.size", 10));
     
-    public TestContext() {
-        this.createdObjectIds = new ArrayList<>();
-        this.testData = new HashMap<>();
-    }
+    private volatile RestApiClient apiClient;
+    private volatile Scenario scenario;
+    private volatile ApiObject currentObject;
+    private final ConcurrentLinkedDeque<NumberedResponse> history = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger recordedResponses = new AtomicInteger();
+    private final Map<String, ResponseDocument> aliases = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<String> createdObjectIds = new ConcurrentLinkedDeque<>();
+    private final Map<String, Object> testData = new ConcurrentHashMap<>();
     
     public RestApiClient getApiClient() {
         return apiClient;
@@ -34,6 +46,17 @@ public class TestContext {
         this.apiClient = apiClient;
     }
     
+    /**
+     * The running scenario, for attaching notes to its report
+     */
+    public Scenario getScenario() {
+        return scenario;
+    }
+    
+    public void setScenario(Scenario scenario) {
+        this.scenario = scenario;
+    }
+    
     public ApiObject getCurrentObject() {
         return currentObject;
     }
@@ -43,16 +66,113 @@ public class TestContext {
     }
     
     public Response getCurrentResponse() {
-        return currentResponse;
+        ResponseDocument current = getCurrentDocument();
+        return current != null ? current.getResponse() : null;
     }
     
+    /**
+     * Record a response as the current one; it becomes response #{@link #getResponseCount()}.
+     * {@code null} clears the current response, and the one it replaces becomes the previous one.
+     */
     public void setCurrentResponse(Response response) {
-        this.previousResponse = this.currentResponse;
-        this.currentResponse = response;
+        history.addLast(response != null
+                ? new NumberedResponse(recordedResponses.incrementAndGet(), response)
+                : NumberedResponse.CLEARED);
+        
+        // Only the current and previous responses are compared; older ones give up their bodies
+        Iterator<NumberedResponse> older = history.descendingIterator();
+        for (int i = 0; i < 2 && older.hasNext(); i++) {
+            older.next();
+        }
+        if (older.hasNext()) {
+            older.next().trim(aliases.values());
+        }
+        while (history.size() > HISTORY_SIZE) {
+            history.pollFirst();
+        }
     }
     
     public Response getPreviousResponse() {
-        return previousResponse;
+        ResponseDocument previous = getPreviousDocument();
+        return previous != null ? previous.getResponse() : null;
+    }
+    
+    /**
+     * Parsed body of the current response, shared by all steps that inspect it
+     */
+    public ResponseDocument getCurrentDocument() {
+        NumberedResponse current = history.peekLast();
+        return current != null ? current.document : null;
+    }
+    
+    public ResponseDocument getPreviousDocument() {
+        Iterator<NumberedResponse> newestFirst = history.descendingIterator();
+        if (newestFirst.hasNext()) {
+            newestFirst.next();
+        }
+        return newestFirst.hasNext() ? newestFirst.next().document : null;
+    }
+    
+    /**
+     * Response #number of this scenario, counting from 1
+     */
+    public ResponseDocument getDocument(int number) {
+        ResponseDocument document = entry(number).document;
+        if (document == null) {
+            throw new IllegalStateException("Response #" + number + " is older than the previous response, so only its"
+                    + " status code and headers are kept; save it under a name to compare its body later");
+        }
+        return document;
+    }
+    
+    /**
+     * Status code of response #number, counting from 1
+     */
+    public int getStatusCode(int number) {
+        return entry(number).statusCode;
+    }
+    
+    /**
+     * Headers of response #number, counting from 1
+     */
+    public Headers getHeaders(int number) {
+        return entry(number).headers;
+    }
+    
+    private NumberedResponse entry(int number) {
+        for (NumberedResponse entry : history) {
+            if (entry.number == number && entry != NumberedResponse.CLEARED) {
+                return entry;
+            }
+        }
+        throw new IllegalArgumentException("Response #" + number + " is not in the history; "
+                + recordedResponses.get() + " recorded, the last " + HISTORY_SIZE + " are kept");
+    }
+    
+    /**
+     * Response saved under an alias by {@link #aliasCurrentResponse(String)}
+     */
+    public ResponseDocument getDocument(String alias) {
+        ResponseDocument document = aliases.get(alias);
+        if (document == null) {
+            throw new IllegalArgumentException("No response saved as '" + alias + "'; known: " + aliases.keySet());
+        }
+        return document;
+    }
+    
+    /**
+     * Keep the current response under a name, beyond the history bound
+     */
+    public void aliasCurrentResponse(String alias) {
+        ResponseDocument current = getCurrentDocument();
+        if (current == null) {
+            throw new IllegalStateException("No response to save as '" + alias + "'");
+        }
+        aliases.put(alias, current);
+    }
+    
+    public int getResponseCount() {
+        return recordedResponses.get();
     }
     
     public void addCreatedObjectId(String id) {
@@ -61,12 +181,29 @@ public class TestContext {
         }
     }
     
+    public void addCreatedObjectIds(Collection<String> ids) {
+        for (String id : ids) {
+            addCreatedObjectId(id);
+        }
+    }
+    
+    /**
+     * Snapshot of the ids created so far, oldest first
+     */
     public List<String> getCreatedObjectIds() {
-        return createdObjectIds;
+        return new ArrayList<>(createdObjectIds);
+    }
+    
+    public String getLastCreatedObjectId() {
+        return createdObjectIds.peekLast();
     }
     
     public void setTestData(String key, Object value) {
-        this.testData.put(key, value);
+        if (value == null) {
+            this.testData.remove(key);
+        } else {
+            this.testData.put(key, value);
+        }
     }
     
     public Object getTestData(String key) {
@@ -78,9 +215,11 @@ public class TestContext {
     }
     
     public void reset() {
+        this.scenario = null;
         this.currentObject = null;
-        this.currentResponse = null;
-        this.previousResponse = null;
+        this.history.clear();
+        this.recordedResponses.set(0);
+        this.aliases.clear();
         this.testData.clear();
     }
     
@@ -89,4 +228,43 @@ public class TestContext {
         this.createdObjectIds.clear();
         reset();
     }
+    
+    private static final class NumberedResponse {
+        
+        /**
+         * Marks where the current response was cleared
+         */
+        private static final NumberedResponse CLEARED = new NumberedResponse(0, 0, null, null);
+        
+        private final int number;
+        private final int statusCode;
+        private final Headers headers;
+        private volatile ResponseDocument document;
+        
+        private NumberedResponse(int number, Response response) {
+            this(number, response.getStatusCode(), response.getHeaders(), new ResponseDocument(response));
+        }
+        
+        private NumberedResponse(int number, int statusCode, Headers headers, ResponseDocument document) {
+            this.number = number;
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.document = document;
+        }
+        
+        /**
+         * Let go of the response body; one saved under an alias keeps it but drops its parsed tree
+         */
+        private void trim(Collection<ResponseDocument> aliased) {
+            ResponseDocument current = document;
+            if (current == null) {
+                return;
+            }
+            if (aliased.contains(current)) {
+                current.release();
+            } else {
+                document = null;
+            }
+        }
+    }
 }
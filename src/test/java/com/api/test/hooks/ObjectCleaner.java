@@ -0,0 +1,129 @@
+package com.api.test.hooks;
+
+import com.api.test.client.HttpArchive;
+import com.api.test.client.RestApiClient;
+import com.api.test.client.RetryPolicy;
+import com.api.test.client.ScenarioLog;
+import com.api.test.config.TestConfig;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Suite-level deleter for objects created by scenarios.
+ * <p>
+ * Deletes run on a shared pool of {@code test.cleanup.parallelism} threads and are retried
+ * by the client's {@link RetryPolicy} like any other request, with a fresh budget each. In
+ * {@code inline} mode a scenario waits for its own deletes; in {@code deferred} mode it hands
+ * the ids over and moves on, and the pool drains them while the next scenarios run.
+ */
+final class ObjectCleaner {
+    
+    private static final String MODE = TestConfig.get("test.cleanup.mode", "inline");
+    private static final int PARALLELISM = TestConfig.getInt("test.cleanup.parallelism", 8);
+    
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+        Thread thread = new Thread(runnable, "object-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private static final Set<CompletableFuture<?>> PENDING = ConcurrentHashMap.newKeySet();
+    
+    private ObjectCleaner() {
+    }
+    
+    static boolean isDeferred() {
+        return "deferred".equalsIgnoreCase(MODE);
+    }
+    
+    /**
+     * Delete the objects and wait until every delete has finished
+     */
+    static void deleteNow(RestApiClient client, Collection<String> ids) {
+        System.out.println(submit(client, ids).join());
+    }
+    
+    /**
+     * Queue the objects for deletion without waiting
+     */
+    static void deleteLater(RestApiClient client, Collection<String> ids) {
+        CompletableFuture<String> batch = submit(client, ids);
+        PENDING.add(batch);
+        batch.whenComplete((summary, error) -> PENDING.remove(batch));
+        System.out.println("Queued " + ids.size() + " created objects for background cleanup");
+    }
+    
+    /**
+     * Wait for deferred deletes to drain, e.g. at the end of the suite
+     */
+    static void awaitPending(long timeoutSeconds) {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+        System.out.println("Waiting for " + PENDING.size() + " deferred cleanup batches...");
+        try {
+            CompletableFuture.allOf(PENDING.toArray(new CompletableFuture<?>[0])).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.out.println("Deferred cleanup did not finish: " + e);
+        }
+    }
+    
+    private static CompletableFuture<String> submit(RestApiClient client, Collection<String> ids) {
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Void>> deletes = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            // Recorded and replayed under the scenario that created the object
+            Supplier<Boolean> delete = HttpArchive.propagate(() -> delete(client, id));
+            deletes.add(CompletableFuture.supplyAsync(delete, EXECUTOR).thenAccept(ok -> {
+                if (ok) {
+                    deleted.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+            }));
+        }
+        return CompletableFuture.allOf(deletes.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> "Cleaned up " + deleted.get() + " of " + ids.size() + " created objects"
+                        + (failed.get() > 0 ? " (" + failed.get() + " failed)" : ""));
+    }
+    
+    /**
+     * Delete one object; transient failures are retried by the client's {@link RetryPolicy}.
+     * A 404 counts as already deleted.
+     */
+    private static boolean delete(RestApiClient client, String id) {
+        // Cleanup runs after the scenario, so it must not be starved by the scenario's spent budget
+        RetryPolicy.resetBudget();
+        try {
+            Response response = client.deleteObject(id);
+            int status = response.getStatusCode();
+            if (status == 200 || status == 404) {
+                return true;
+            }
+            System.out.println("Error deleting object " + id + ": status " + status);
+            return false;
+        } catch (Exception e) {
+            System.out.println("Error deleting object " + id + ": " + e.getMessage());
+            return false;
+        } finally {
+            // Cleanup exchanges happen after the scenario verdict, never keep them
+            ScenarioLog.discard();
+        }
+    }
+}
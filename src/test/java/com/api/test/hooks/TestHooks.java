@@ -1,10 +1,19 @@
 package com.api.test.hooks;
 
+import com.api.test.client.HttpArchive;
+import com.api.test.client.RequestMetrics;
+import com.api.test.client.ResponseBodies;
+import com.api.test.client.RetryPolicy;
+import com.api.test.client.ScenarioLog;
+import com.api.test.config.TestConfig;
 import com.api.test.context.TestContext;
+import com.api.test.stub.ObjectsApiStub;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
-import io.restassured.response.Response;
+import org.junit.jupiter.api.Assumptions;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +26,21 @@ public class TestHooks {
         this.context = context;
     }
     
+    @BeforeAll
+    public static void beforeSuite() {
+        if (ObjectsApiStub.isEnabled()) {
+            System.out.println("Objects API stub running at " + ObjectsApiStub.shared().getBaseUrl());
+        }
+    }
+    
+    /**
+     * Scenarios tagged {@code @stub} rely on the embedded stub and are skipped against a real API
+     */
+    @Before(value = "@stub", order = 0)
+    public void requireStub() {
+        Assumptions.assumeTrue(ObjectsApiStub.isEnabled(), "@stub scenario needs api.stub.enabled=true");
+    }
+    
     @Before
     public void beforeScenario(Scenario scenario) {
         System.out.println("===================================================");
@@ -26,6 +50,10 @@ public class TestHooks {
         
         // Reset context for new scenario
         context.reset();
+        context.setScenario(scenario);
+        ScenarioLog.discard();
+        RetryPolicy.resetBudget();
+        HttpArchive.startScenario(scenario.getUri(), scenario.getLine());
     }
     
     @After
@@ -34,21 +62,30 @@ public class TestHooks {
         System.out.println("Completed Scenario: " + scenario.getName());
         System.out.println("Status: " + scenario.getStatus());
         
-        // Cleanup created objects
-        cleanupCreatedObjects();
-        
         if (scenario.isFailed()) {
             System.out.println("Scenario FAILED!");
+            // Only failed scenarios pay for formatting the buffered exchanges
+            ScenarioLog.flush();
             if (context.getCurrentResponse() != null) {
                 System.out.println("Last Response Status: " + context.getCurrentResponse().getStatusCode());
-                System.out.println("Last Response Body: " + context.getCurrentResponse().getBody().asString());
+                System.out.println("Last Response Body: " + ResponseBodies.preview(context.getCurrentResponse()));
             }
         }
         
+        // Cleanup created objects
+        cleanupCreatedObjects();
+        
         System.out.println("===================================================\n");
         
         // Final cleanup
         context.cleanup();
+        ScenarioLog.discard();
+    }
+    
+    @AfterAll
+    public static void afterSuite() {
+        ObjectCleaner.awaitPending(TestConfig.getLong("test.cleanup.drain.timeout.seconds", 60));
+        RequestMetrics.writeReport();
     }
     
     /**
@@ -57,21 +94,15 @@ public class TestHooks {
     private void cleanupCreatedObjects() {
         List<String> objectIds = new ArrayList<>(context.getCreatedObjectIds());
         
-        if (!objectIds.isEmpty()) {
+        if (objectIds.isEmpty() || !TestConfig.getBoolean("test.cleanup.enabled", true)) {
+            return;
+        }
+        
+        if (ObjectCleaner.isDeferred()) {
+            ObjectCleaner.deleteLater(context.getApiClient(), objectIds);
+        } else {
             System.out.println("Cleaning up " + objectIds.size() + " created objects...");
-            
-            for (String id : objectIds) {
-                try {
-                    Response response = context.getApiClient().deleteObject(id);
-                    if (response.getStatusCode() == 200) {
-                        System.out.println("Successfully deleted object: " + id);
-                    } else {
-                        System.out.println("Failed to delete object " + id + " (might be already deleted)");
-                    }
-                } catch (Exception e) {
-                    System.out.println("Error deleting object " + id + ": " + e.getMessage());
-                }
-            }
+            ObjectCleaner.deleteNow(context.getApiClient(), objectIds);
         }
     }
 }
@@ -0,0 +1,188 @@
+package com.api.test.model;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * ApiObjects streamed from a CSV or NDJSON file, one line at a time, so a data file of any
+ * size is read in constant memory.
+ * <ul>
+ *   <li>{@code .csv}: a header row, then one object per row. The {@code name} column is the
+ *       name, every other non-empty cell a data attribute, numeric cells as numbers, the same
+ *       way {@code has the following attributes:} reads a table.</li>
+ *   <li>{@code .ndjson} / {@code .jsonl}: one ApiObject JSON document per line.</li>
+ * </ul>
+ * Files are looked up on the file system first and then on the test classpath.
+ */
+public final class ApiObjectSource implements Iterator<ApiObject>, Closeable {
+    
+    private final String location;
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final List<String> columns;
+    private long lineNumber;
+    private ApiObject next;
+    
+    private ApiObjectSource(String location, BufferedReader reader, boolean csv) throws IOException {
+        this.location = location;
+        this.reader = reader;
+        this.csv = csv;
+        this.columns = csv ? readHeader() : List.of();
+    }
+    
+    public static ApiObjectSource open(String location) {
+        String lower = location.toLowerCase(Locale.ROOT);
+        boolean csv = lower.endsWith(".csv");
+        if (!csv && !lower.endsWith(".ndjson") && !lower.endsWith(".jsonl")) {
+            throw new IllegalArgumentException("Unsupported data file " + location + ": expected .csv, .ndjson or .jsonl");
+        }
+        try {
+            InputStream in;
+            Path file = Paths.get(location);
+            if (Files.isRegularFile(file)) {
+                in = Files.newInputStream(file);
+            } else {
+                in = ApiObjectSource.class.getClassLoader().getResourceAsStream(location);
+                if (in == null) {
+                    throw new IllegalArgumentException("No data file " + location + " on the file system or classpath");
+                }
+            }
+            return new ApiObjectSource(location, new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open data file " + location, e);
+        }
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readObject();
+        }
+        return next != null;
+    }
+    
+    @Override
+    public ApiObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ApiObject result = next;
+        next = null;
+        return result;
+    }
+    
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close data file " + location, e);
+        }
+    }
+    
+    private List<String> readHeader() throws IOException {
+        String header = readLine();
+        if (header == null) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>();
+        for (String name : splitCsv(header)) {
+            names.add(name.trim());
+        }
+        return names;
+    }
+    
+    private ApiObject readObject() {
+        try {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            return csv ? fromCsv(splitCsv(line)) : JsonMapping.toApiObject(line.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid data at " + location + ":" + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Next non-blank line, or null at the end of the file
+     */
+    private String readLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while (line != null && line.isBlank());
+        return line;
+    }
+    
+    private ApiObject fromCsv(List<String> cells) {
+        if (cells.size() > columns.size()) {
+            throw new IllegalArgumentException(cells.size() + " cells for " + columns.size() + " columns");
+        }
+        ApiObject apiObject = new ApiObject();
+        for (int i = 0; i < cells.size(); i++) {
+            String column = columns.get(i);
+            String cell = cells.get(i);
+            if ("name".equals(column)) {
+                apiObject.setName(cell);
+            } else if (!cell.isEmpty()) {
+                Object value;
+                try {
+                    value = Double.parseDouble(cell);
+                } catch (NumberFormatException e) {
+                    value = cell;
+                }
+                apiObject.addDataAttribute(column, value);
+            }
+        }
+        return apiObject;
+    }
+    
+    /**
+     * Cells of one CSV line; double-quoted cells may contain commas and {@code ""} for a quote
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted cell");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
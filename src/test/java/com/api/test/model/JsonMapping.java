@@ -0,0 +1,92 @@
+package com.api.test.model;
+
+import com.api.test.config.TestConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * The Jackson configuration shared by the client, assertions, logging and the stub.
+ * <p>
+ * Mappers, readers and writers are thread-safe once built, so ApiObject's reader and writer
+ * are created and warmed up once instead of being resolved and introspected per request.
+ */
+public final class JsonMapping {
+    
+    private static final ObjectMapper MAPPER = createMapper();
+    private static final ObjectWriter API_OBJECT_WRITER = MAPPER.writerFor(ApiObject.class);
+    private static final ObjectReader API_OBJECT_READER = MAPPER.readerFor(ApiObject.class);
+    
+    static {
+        // Build the (de)serializers now rather than on the first request
+        ApiObject sample = new ApiObject("warm-up");
+        sample.addDataAttribute("key", "value");
+        toApiObject(toBytes(sample));
+    }
+    
+    private JsonMapping() {
+    }
+    
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        // Blackbird replaces reflective getters/setters with generated lambdas
+        if (TestConfig.getBoolean("json.blackbird.enabled", true)) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        return mapper;
+    }
+    
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+    
+    /**
+     * Serialize an ApiObject straight to UTF-8 bytes
+     */
+    public static byte[] toBytes(ApiObject apiObject) {
+        try {
+            return API_OBJECT_WRITER.writeValueAsBytes(apiObject);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize " + apiObject, e);
+        }
+    }
+    
+    /**
+     * Bind a JSON body directly to an ApiObject
+     */
+    public static ApiObject toApiObject(byte[] json) {
+        try {
+            return API_OBJECT_READER.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Body is not an ApiObject", e);
+        }
+    }
+    
+    /**
+     * Bind a streamed JSON body directly to an ApiObject
+     */
+    public static ApiObject toApiObject(InputStream json) {
+        try {
+            return API_OBJECT_READER.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Body is not an ApiObject", e);
+        }
+    }
+    
+    /**
+     * Bind an already parsed JSON tree to an ApiObject
+     */
+    public static ApiObject toApiObject(JsonNode json) {
+        try {
+            return API_OBJECT_READER.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Body is not an ApiObject", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.api.test.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON Schemas from {@code src/test/resources/schemas}, compiled once and shared by every scenario.
+ * <p>
+ * REST Assured's {@code matchesJsonSchemaInClasspath} builds a new factory, reloads the schema
+ * and revalidates it on every call. Here one factory compiles each schema on first use, and the
+ * resulting validator is thread-safe, so checking every element of a long list costs one
+ * validation pass per element and nothing else.
+ */
+public final class JsonSchemas {
+    
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+    private static final Map<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+    
+    private JsonSchemas() {
+    }
+    
+    /**
+     * Problems found validating {@code node} against schema {@code name} (schemas/name.json);
+     * null if it is valid
+     */
+    public static String violations(String name, JsonNode node) {
+        ProcessingReport report = schema(name).validateUnchecked(node);
+        if (report.isSuccess()) {
+            return null;
+        }
+        StringBuilder problems = new StringBuilder();
+        for (ProcessingMessage message : report) {
+            String pointer = message.asJson().path("instance").path("pointer").asText();
+            problems.append(problems.length() == 0 ? "" : "; ")
+                    .append(pointer.isEmpty() ? "/" : pointer)
+                    .append(": ")
+                    .append(message.getMessage());
+        }
+        return problems.toString();
+    }
+    
+    /**
+     * Compile every schema in the {@code schemas} directory ahead of the first schema step;
+     * schemas packaged in a jar are still compiled on first use
+     */
+    public static void compileAll() {
+        URL directory = JsonSchemas.class.getClassLoader().getResource("schemas");
+        if (directory == null || !"file".equals(directory.getProtocol())) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(directory.toURI()), "*.json")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                schema(fileName.substring(0, fileName.length() - ".json".length()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list JSON schemas in " + directory, e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Unexpected schemas directory " + directory, e);
+        }
+    }
+    
+    private static JsonSchema schema(String name) {
+        return SCHEMAS.computeIfAbsent(name, JsonSchemas::compile);
+    }
+    
+    private static JsonSchema compile(String name) {
+        String resource = "schemas/" + name + ".json";
+        try (InputStream in = JsonSchemas.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No JSON schema on the classpath at " + resource);
+            }
+            JsonSchema schema = FACTORY.getJsonSchema(JsonMapping.mapper().readTree(in));
+            // The factory builds and caches the schema's validators on the first validation
+            schema.validateUnchecked(NullNode.getInstance());
+            return schema;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read JSON schema " + resource, e);
+        } catch (ProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON schema " + resource + ": " + e.getMessage(), e);
+        }
+    }
+}
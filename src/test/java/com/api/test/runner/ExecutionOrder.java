@@ -0,0 +1,105 @@
+package com.api.test.runner;
+
+import com.api.test.config.TestConfig;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.launcher.LauncherDiscoveryListener;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reorders the discovered suite before it runs: {@code @smoke} scenarios first, so a broken
+ * environment fails within seconds, then the longest scenarios by the {@link TimingStore}.
+ * Starting the longest work first (LPT scheduling) keeps a slow scenario from starting last
+ * and stretching a parallel run.
+ * <p>
+ * Features are ordered by their total duration and scenarios within a feature by their own;
+ * scenarios without history count as average.
+ * <p>
+ * The tree is sorted when the launcher reports that discovery has finished, which is after every
+ * post-discovery filter ({@link ShardFilter}, {@link IncrementalSelection}) has run and empty
+ * containers have been pruned, so it only sees the scenarios that will run, whatever order the
+ * filters are registered in. That listener callback is not handed the tree, so this class is also
+ * registered as a post-discovery filter that includes everything and only notes the roots it sees.
+ */
+public class ExecutionOrder implements PostDiscoveryFilter, LauncherDiscoveryListener {
+    
+    private static final TestTag SMOKE = TestTag.create("smoke");
+    
+    /**
+     * Shared by the filter and listener instances, which the launcher loads separately
+     */
+    private static final Set<TestDescriptor> DISCOVERED_ROOTS =
+            Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        DISCOVERED_ROOTS.add(root);
+        return FilterResult.included("ordered once discovery has finished");
+    }
+    
+    @Override
+    public void launcherDiscoveryFinished(LauncherDiscoveryRequest request) {
+        List<TestDescriptor> roots;
+        synchronized (DISCOVERED_ROOTS) {
+            roots = new ArrayList<>(DISCOVERED_ROOTS);
+            DISCOVERED_ROOTS.clear();
+        }
+        roots.forEach(ExecutionOrder::order);
+    }
+    
+    private static void order(TestDescriptor root) {
+        boolean longestFirst = TestConfig.getBoolean("test.order.longest.first", true);
+        boolean smokeFirst = TestConfig.getBoolean("test.order.smoke.first", true);
+        if (!longestFirst && !smokeFirst) {
+            return;
+        }
+        Map<String, Long> history = longestFirst ? TimingStore.load() : Map.of();
+        long average = (long) history.values().stream().mapToLong(Long::longValue).average().orElse(1);
+        order(root, history, average, smokeFirst, new IdentityHashMap<>());
+    }
+    
+    /**
+     * Sorts the children of {@code node} recursively and returns its estimated duration
+     */
+    private static long order(TestDescriptor node, Map<String, Long> history, long average, boolean smokeFirst,
+                              Map<TestDescriptor, Long> estimates) {
+        if (node.isTest()) {
+            String key = ScenarioTimings.key(node);
+            return key == null ? average : history.getOrDefault(key, average);
+        }
+        List<TestDescriptor> children = new ArrayList<>(node.getChildren());
+        long total = 0;
+        for (TestDescriptor child : children) {
+            long estimate = order(child, history, average, smokeFirst, estimates);
+            estimates.put(child, estimate);
+            total += estimate;
+        }
+        Comparator<TestDescriptor> longest = Comparator.comparing(estimates::get, Comparator.reverseOrder());
+        // List.sort is stable: ties keep the feature file order
+        children.sort(smokeFirst
+                ? Comparator.comparing((TestDescriptor child) -> !isSmoke(child)).thenComparing(longest)
+                : longest);
+        children.forEach(node::removeChild);
+        children.forEach(node::addChild);
+        return total;
+    }
+    
+    private static boolean isSmoke(TestDescriptor descriptor) {
+        return descriptor.getTags().contains(SMOKE)
+                || descriptor.getChildren().stream().anyMatch(ExecutionOrder::isSmoke);
+    }
+}
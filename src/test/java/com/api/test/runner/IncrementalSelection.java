@@ -0,0 +1,110 @@
+package com.api.test.runner;
+
+import com.api.test.config.TestConfig;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incremental runs ({@code test.incremental=true}): only scenarios whose feature file or glue
+ * classes changed since they last ran, or that did not pass last time, are executed. The
+ * {@link SelectionIndex} of earlier runs says what each scenario ran against; scenarios it has
+ * no entry for always run. When nothing changed, no scenario runs; the {@code incremental}
+ * profile runs {@link IncrementalSuite}, which reports that as a passing, empty run.
+ * <p>
+ * Only the feature file and the step and hook classes a scenario ran are fingerprinted, not the
+ * client and model classes behind them; run without the flag after changing those.
+ */
+public class IncrementalSelection implements PostDiscoveryFilter {
+    
+    private TestDescriptor selectedRoot;
+    private Set<String> unchanged = Set.of();
+    
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!descriptor.isTest() || !TestConfig.getBoolean("test.incremental", false)) {
+            return FilterResult.included("incremental selection disabled or not a scenario");
+        }
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        String key = ScenarioTimings.key(descriptor);
+        return key != null && unchangedIn(root).contains(key)
+                ? FilterResult.excluded("unchanged since it last passed")
+                : FilterResult.included("changed, failed or never run");
+    }
+    
+    private synchronized Set<String> unchangedIn(TestDescriptor root) {
+        if (root == selectedRoot) {
+            return unchanged;
+        }
+        selectedRoot = root;
+        Map<String, String> index = SelectionIndex.load();
+        Map<String, String> featureFingerprints = new HashMap<>();
+        Map<String, String> classFingerprints = new HashMap<>();
+        Set<String> result = new HashSet<>();
+        int scenarios = collect(root, index, featureFingerprints, classFingerprints, result);
+        if (scenarios > 0 && result.size() == scenarios) {
+            System.out.println("Incremental run: all " + scenarios + " scenarios are unchanged since they last passed;"
+                    + " nothing to run (" + SelectionIndex.file() + ")");
+        } else {
+            System.out.println("Incremental run: " + (scenarios - result.size()) + " of " + scenarios
+                    + " scenarios changed or did not pass last time (" + SelectionIndex.file() + ")");
+        }
+        unchanged = result;
+        return unchanged;
+    }
+    
+    /**
+     * Adds the keys of up-to-date scenarios under {@code node} to {@code unchanged}; returns the number of scenarios
+     */
+    private static int collect(TestDescriptor node, Map<String, String> index, Map<String, String> featureFingerprints,
+                               Map<String, String> classFingerprints, Set<String> unchanged) {
+        if (node.isTest()) {
+            String key = ScenarioTimings.key(node);
+            String entry = key == null ? null : index.get(key);
+            if (entry != null) {
+                String featurePath = key.substring(0, key.lastIndexOf(':'));
+                String featureFingerprint = featureFingerprints.computeIfAbsent(featurePath,
+                        IncrementalSelection::featureFingerprint);
+                if (SelectionIndex.isUpToDate(entry, featureFingerprint, classFingerprints)) {
+                    unchanged.add(key);
+                }
+            }
+            return 1;
+        }
+        int scenarios = 0;
+        for (TestDescriptor child : node.getChildren()) {
+            scenarios += collect(child, index, featureFingerprints, classFingerprints, unchanged);
+        }
+        return scenarios;
+    }
+    
+    /**
+     * Fingerprint of a feature file, relative to the working directory or on the classpath; empty if unreadable
+     */
+    private static String featureFingerprint(String featurePath) {
+        Path file = Paths.get(featurePath);
+        try {
+            if (Files.isRegularFile(file)) {
+                return SelectionIndex.fingerprint(Files.readAllBytes(file));
+            }
+            try (InputStream in = IncrementalSelection.class.getClassLoader().getResourceAsStream(featurePath)) {
+                return in == null ? "" : SelectionIndex.fingerprint(in.readAllBytes());
+            }
+        } catch (IOException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.api.test.runner;
+
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
+
+import static io.cucumber.junit.platform.engine.Constants.*;
+
+/**
+ * The suite of incremental runs, run by the {@code incremental} profile instead of {@link TestRunner}.
+ * <p>
+ * Same scenarios and settings, but when {@link IncrementalSelection} finds every scenario up to
+ * date the empty run passes. {@link TestRunner} keeps failing on an empty run, as it should for a
+ * mistyped tag or features path.
+ */
+@Suite(failIfNoTests = false)
+@IncludeEngines("cucumber")
+@SelectClasspathResource("features")
+@ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.api.test.steps,com.api.test.hooks")
+@ConfigurationParameter(key = FEATURES_PROPERTY_NAME, value = "src/test/resources/features")
+@ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "not @wip")
+@ConfigurationParameter(key = PLUGIN_PUBLISH_QUIET_PROPERTY_NAME, value = "true")
+public class IncrementalSuite {
+}
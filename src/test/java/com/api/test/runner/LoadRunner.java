@@ -0,0 +1,196 @@
+package com.api.test.runner;
+
+import com.api.test.client.RequestMetrics;
+import com.api.test.config.TestConfig;
+import io.cucumber.core.cli.Main;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays the scenarios matching a tag as a throughput benchmark, using the regular step
+ * definitions and RestApiClient.
+ * <p>
+ * {@code load.concurrency} workers each run the selected scenarios back to back for
+ * {@code load.duration.seconds}. With {@code load.rate} above zero, at most that many
+ * scenarios are started per second, across all workers. Every {@code load.progress.seconds}
+ * the scenarios run so far and the requests in flight at that moment are printed.
+ * <p>
+ * Every pass over the scenarios starts a new Cucumber runtime (feature parsing, glue, and the
+ * suite hooks). Throughput is therefore measured over the time workers spend inside scenarios,
+ * so that start-up between passes is not counted. Run with:
+ * <pre>
+ * mvn -Pload test-compile exec:java -Dload.tags=@smoke -Dload.concurrency=8 -Dload.duration.seconds=60
+ * </pre>
+ */
+public final class LoadRunner {
+    
+    private static final String REPORT_FILE = "target/load-reports/load-report.txt";
+    
+    private static final AtomicLong PASSED = new AtomicLong();
+    private static final AtomicLong FAILED = new AtomicLong();
+    private static final AtomicLong SCENARIO_NANOS = new AtomicLong();
+    
+    // Read by the ScenarioCounter instances Cucumber creates for every pass
+    private static volatile Semaphore permits;
+    private static volatile long deadline;
+    
+    private LoadRunner() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        String tags = TestConfig.get("load.tags", "@smoke");
+        int concurrency = TestConfig.getInt("load.concurrency", 4);
+        double rate = Double.parseDouble(TestConfig.get("load.rate", "0"));
+        long durationSeconds = TestConfig.getLong("load.duration.seconds", 60);
+        long progressSeconds = TestConfig.getLong("load.progress.seconds", 10);
+        String features = TestConfig.get("load.features", "classpath:features");
+        
+        String[] cucumberArgs = {
+                "--glue", "com.api.test.steps",
+                "--glue", "com.api.test.hooks",
+                "--tags", "(" + tags + ") and not @wip",
+                "--plugin", ScenarioCounter.class.getName(),
+                "--no-summary",
+                features
+        };
+        
+        PrintStream console = System.out;
+        console.println("Load run: tags=" + tags + ", concurrency=" + concurrency
+                + ", rate=" + (rate > 0 ? rate + "/s" : "unthrottled") + ", duration=" + durationSeconds + "s");
+        
+        permits = rate > 0 ? new Semaphore(0) : null;
+        ScheduledExecutorService pacer = rate > 0 ? startPacer(permits, rate, concurrency) : null;
+        
+        long start = System.nanoTime();
+        deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ScheduledExecutorService progress = progressSeconds > 0 ? startProgress(console, start, progressSeconds) : null;
+        List<Thread> workers = new ArrayList<>(concurrency);
+        
+        // Step and hook output would swamp the report and serialize the workers on stdout
+        if (TestConfig.getBoolean("load.quiet", true)) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                Thread worker = new Thread(() -> runUntilDeadline(cucumberArgs), "load-worker-" + i);
+                worker.start();
+                workers.add(worker);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } finally {
+            System.setOut(console);
+            if (pacer != null) {
+                pacer.shutdownNow();
+            }
+            if (progress != null) {
+                progress.shutdownNow();
+            }
+        }
+        
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        // Wall time of a worker spent in scenarios, including waits for the pacer
+        double scenarioSeconds = Math.max(SCENARIO_NANOS.get() / 1e9 / concurrency, 1e-3);
+        long scenarios = PASSED.get() + FAILED.get();
+        String report = String.format("Scenarios: %d (%d failed) in %.1fs, %.1fs of it in scenarios per worker: "
+                        + "%.1f scenarios/s%n%n",
+                scenarios, FAILED.get(), elapsedSeconds, scenarioSeconds, scenarios / scenarioSeconds)
+                + RequestMetrics.report(scenarioSeconds);
+        console.println(report);
+        writeReport(report);
+    }
+    
+    private static ScheduledExecutorService startPacer(Semaphore permits, double rate, int concurrency) {
+        ScheduledExecutorService pacer = Executors.newSingleThreadScheduledExecutor();
+        long periodMicros = Math.max(1, Math.round(1_000_000 / rate));
+        pacer.scheduleAtFixedRate(() -> {
+            // Don't let permits pile up while every worker is busy
+            if (permits.availablePermits() < concurrency) {
+                permits.release();
+            }
+        }, 0, periodMicros, TimeUnit.MICROSECONDS);
+        return pacer;
+    }
+    
+    private static ScheduledExecutorService startProgress(PrintStream console, long start, long periodSeconds) {
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> console.printf("%6.0fs: %d scenarios (%d failed), %d requests in flight%n",
+                        (System.nanoTime() - start) / 1e9, PASSED.get() + FAILED.get(), FAILED.get(),
+                        RequestMetrics.inFlight()),
+                periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return progress;
+    }
+    
+    private static void runUntilDeadline(String[] cucumberArgs) {
+        ClassLoader classLoader = LoadRunner.class.getClassLoader();
+        while (System.nanoTime() < deadline) {
+            Main.run(cucumberArgs, classLoader);
+        }
+    }
+    
+    /**
+     * Wait for the pacer's permit to start a scenario, at most until the end of the run
+     */
+    private static void awaitTurn() {
+        Semaphore pacing = permits;
+        if (pacing == null) {
+            return;
+        }
+        try {
+            pacing.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void writeReport(String report) throws IOException {
+        Path path = Paths.get(REPORT_FILE);
+        Files.createDirectories(path.getParent());
+        Files.write(path, report.getBytes(StandardCharsets.UTF_8));
+        System.out.println("Report written to " + REPORT_FILE);
+    }
+    
+    /**
+     * Paces scenario starts and counts their results and time. Events reach it synchronously
+     * on the worker thread, so waiting in the start handler delays the scenario itself.
+     */
+    public static class ScenarioCounter implements ConcurrentEventListener {
+        
+        private long started;
+        
+        @Override
+        public void setEventPublisher(EventPublisher publisher) {
+            publisher.registerHandlerFor(TestCaseStarted.class, event -> {
+                started = System.nanoTime();
+                awaitTurn();
+            });
+            publisher.registerHandlerFor(TestCaseFinished.class, event -> {
+                SCENARIO_NANOS.addAndGet(System.nanoTime() - started);
+                if (event.getResult().getStatus() == Status.PASSED) {
+                    PASSED.incrementAndGet();
+                } else {
+                    FAILED.incrementAndGet();
+                }
+            });
+        }
+    }
+}
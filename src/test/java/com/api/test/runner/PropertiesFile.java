@@ -0,0 +1,63 @@
+package com.api.test.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Properties file that the run-to-run stores ({@link TimingStore}, {@link SelectionIndex}) read
+ * and replace whole. Problems are only printed: a missing or broken store makes a run slower,
+ * never wrong.
+ */
+final class PropertiesFile {
+    
+    private PropertiesFile() {
+    }
+    
+    /**
+     * Every entry of {@code file}; empty if it doesn't exist or can't be read
+     */
+    static Map<String, String> read(Path file, String description) {
+        Map<String, String> entries = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return entries;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.out.println("Ignoring unreadable " + description + " " + file + ": " + e.getMessage());
+            return entries;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            entries.put(key, properties.getProperty(key));
+        }
+        return entries;
+    }
+    
+    /**
+     * Replaces {@code file} with {@code entries}, creating its directory if needed
+     */
+    static void write(Path file, Map<String, String> entries, String comment, String description) {
+        Properties properties = new Properties();
+        properties.putAll(entries);
+        Path target = file.toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, comment);
+            }
+            // Concurrent shards in one workspace replace the file whole instead of interleaving writes
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Unable to update " + description + " " + target + ": " + e.getMessage());
+        }
+    }
+}
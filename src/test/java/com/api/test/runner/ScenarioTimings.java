@@ -0,0 +1,106 @@
+package com.api.test.runner;
+
+import com.api.test.model.JsonMapping;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.engine.support.descriptor.FileSource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stable scenario keys, shared by discovered tests, Cucumber events and reports, and the
+ * scenario durations recorded in a Cucumber JSON report
+ */
+final class ScenarioTimings {
+    
+    private ScenarioTimings() {
+    }
+    
+    /**
+     * Stable scenario key: feature path without its scheme, relative to the working directory for
+     * {@code file:} URIs, and the scenario's line
+     */
+    static String key(String featureUri, long line) {
+        return featurePath(featureUri) + ":" + line;
+    }
+    
+    /**
+     * Feature path of a feature URI, as used in scenario keys
+     */
+    static String featurePath(String uri) {
+        if (uri.startsWith("classpath:")) {
+            return uri.substring("classpath:".length());
+        }
+        if (uri.startsWith("file:/")) {
+            // JUnit reports absolute file URIs, Cucumber the relative ones it was configured with
+            Path file = Paths.get(URI.create(uri));
+            Path cwd = Paths.get("").toAbsolutePath();
+            return (file.startsWith(cwd) ? cwd.relativize(file) : file).toString().replace('\\', '/');
+        }
+        return uri.startsWith("file:") ? uri.substring("file:".length()) : uri;
+    }
+    
+    /**
+     * Key of a discovered scenario, or {@code null} for descriptors without a feature file position
+     */
+    static String key(TestDescriptor descriptor) {
+        TestSource source = descriptor.getSource().orElse(null);
+        if (source instanceof ClasspathResourceSource) {
+            ClasspathResourceSource resource = (ClasspathResourceSource) source;
+            return resource.getPosition()
+                    .map(position -> key(resource.getClasspathResourceName(), position.getLine()))
+                    .orElse(null);
+        }
+        if (source instanceof FileSource) {
+            FileSource file = (FileSource) source;
+            return file.getPosition()
+                    .map(FilePosition::getLine)
+                    .map(line -> key(file.getUri().toString(), line))
+                    .orElse(null);
+        }
+        return null;
+    }
+    
+    /**
+     * Nanoseconds spent per scenario, summed over its hooks and steps; empty if the report is missing
+     */
+    static Map<String, Long> fromCucumberJson(Path report) {
+        Map<String, Long> durations = new HashMap<>();
+        if (!Files.isRegularFile(report)) {
+            return durations;
+        }
+        try {
+            for (JsonNode feature : JsonMapping.mapper().readTree(report.toFile())) {
+                String uri = feature.path("uri").asText();
+                for (JsonNode element : feature.path("elements")) {
+                    if (!"scenario".equals(element.path("type").asText())) {
+                        continue;
+                    }
+                    long nanos = sum(element.path("before")) + sum(element.path("steps")) + sum(element.path("after"));
+                    durations.merge(key(uri, element.path("line").asLong()), nanos, Long::sum);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Ignoring unreadable timings in " + report + ": " + e.getMessage());
+        }
+        return durations;
+    }
+    
+    private static long sum(JsonNode hooksOrSteps) {
+        long nanos = 0;
+        for (JsonNode node : hooksOrSteps) {
+            nanos += node.path("result").path("duration").asLong();
+            nanos += sum(node.path("before")) + sum(node.path("after"));
+        }
+        return nanos;
+    }
+}
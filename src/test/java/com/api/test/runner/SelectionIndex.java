@@ -0,0 +1,160 @@
+package com.api.test.runner;
+
+import com.api.test.config.TestConfig;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestSourceRead;
+import io.cucumber.plugin.event.TestStepFinished;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local index of what every scenario ran against, so that {@link IncrementalSelection} can
+ * skip the scenarios whose inputs have not changed ({@code test.incremental.index}).
+ * <p>
+ * As a Cucumber plugin it records, per scenario, its last status, a fingerprint of its feature
+ * file and of every glue class its steps and hooks ran in, and merges them into the index when
+ * the run finishes. Scenarios that did not run keep their earlier entry.
+ * <p>
+ * An entry is {@code status;feature fingerprint;class=fingerprint,...}.
+ */
+public class SelectionIndex implements EventListener {
+    
+    private final Map<String, String> featureFingerprints = new ConcurrentHashMap<>();
+    private final Map<String, TreeSet<String>> glueClasses = new ConcurrentHashMap<>();
+    private final Map<String, String> classFingerprints = new ConcurrentHashMap<>();
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        // The source Cucumber parsed, so an edit made while the suite runs still counts as a change
+        publisher.registerHandlerFor(TestSourceRead.class, event -> featureFingerprints.put(
+                ScenarioTimings.featurePath(event.getUri().toString()),
+                fingerprint(event.getSource().getBytes(StandardCharsets.UTF_8))));
+        publisher.registerHandlerFor(TestStepFinished.class, event -> {
+            String glueClass = glueClass(event.getTestStep().getCodeLocation());
+            if (glueClass != null) {
+                glueClasses.computeIfAbsent(event.getTestCase().getId().toString(), id -> new TreeSet<>())
+                        .add(glueClass);
+            }
+        });
+        publisher.registerHandlerFor(TestCaseFinished.class, this::record);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> save(entries));
+    }
+    
+    private void record(TestCaseFinished event) {
+        String featurePath = ScenarioTimings.featurePath(event.getTestCase().getUri().toString());
+        StringBuilder entry = new StringBuilder()
+                .append(event.getResult().getStatus()).append(';')
+                .append(featureFingerprints.getOrDefault(featurePath, "")).append(';');
+        TreeSet<String> classes = glueClasses.remove(event.getTestCase().getId().toString());
+        if (classes != null) {
+            String separator = "";
+            for (String glueClass : classes) {
+                entry.append(separator).append(glueClass).append('=')
+                        .append(classFingerprints.computeIfAbsent(glueClass, SelectionIndex::classFingerprint));
+                separator = ",";
+            }
+        }
+        entries.put(ScenarioTimings.key(event.getTestCase().getUri().toString(),
+                event.getTestCase().getLocation().getLine()), entry.toString());
+    }
+    
+    /**
+     * Class of a Java step or hook location such as {@code com.api.test.steps.WhenSteps.method(java.lang.String)}
+     */
+    private static String glueClass(String codeLocation) {
+        if (codeLocation == null) {
+            return null;
+        }
+        int parameters = codeLocation.indexOf('(');
+        String method = parameters < 0 ? codeLocation : codeLocation.substring(0, parameters);
+        int dot = method.lastIndexOf('.');
+        return dot > 0 ? method.substring(0, dot) : null;
+    }
+    
+    static Path file() {
+        return Paths.get(TestConfig.get("test.incremental.index", "target/incremental/selection-index.properties"));
+    }
+    
+    /**
+     * Entries per scenario key from earlier runs; empty if nothing was recorded yet
+     */
+    static Map<String, String> load() {
+        return PropertiesFile.read(file(), "selection index");
+    }
+    
+    /**
+     * Whether a recorded entry still describes the scenario: it passed, and neither its feature
+     * file nor any of its glue classes changed since
+     */
+    static boolean isUpToDate(String entry, String featureFingerprint, Map<String, String> classFingerprints) {
+        String[] parts = entry.split(";", -1);
+        if (parts.length != 3 || !Status.PASSED.name().equals(parts[0]) || parts[1].isEmpty()
+                || !parts[1].equals(featureFingerprint)) {
+            return false;
+        }
+        if (parts[2].isEmpty()) {
+            return true;
+        }
+        for (String glueClass : parts[2].split(",")) {
+            int equals = glueClass.lastIndexOf('=');
+            if (equals < 0) {
+                return false;
+            }
+            String current = classFingerprints.computeIfAbsent(glueClass.substring(0, equals),
+                    SelectionIndex::classFingerprint);
+            if (!glueClass.substring(equals + 1).equals(current)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Fingerprint of a compiled class on the test classpath; empty if it no longer exists
+     */
+    static String classFingerprint(String className) {
+        String resource = className.replace('.', '/') + ".class";
+        try (InputStream in = SelectionIndex.class.getClassLoader().getResourceAsStream(resource)) {
+            return in == null ? "" : fingerprint(in.readAllBytes());
+        } catch (IOException e) {
+            return "";
+        }
+    }
+    
+    static String fingerprint(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static synchronized void save(Map<String, String> latest) {
+        if (latest.isEmpty()) {
+            return;
+        }
+        Map<String, String> merged = new TreeMap<>(load());
+        merged.putAll(latest);
+        PropertiesFile.write(file(), merged, "Scenario status;feature fingerprint;glue class fingerprints",
+                "selection index");
+    }
+}
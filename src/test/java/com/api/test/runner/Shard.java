@@ -0,0 +1,53 @@
+package com.api.test.runner;
+
+import com.api.test.config.TestConfig;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This JVM's slice of the suite: shard {@code test.shard.index} (from 0) of {@code test.shard.total}.
+ * <p>
+ * Scenarios are partitioned by {@code test.shard.strategy}: {@code hash} of the scenario's
+ * location, or {@code duration}, which balances the historical scenario durations in
+ * {@code test.shard.timings} across shards. Every shard computes the same partition, so the
+ * shards together run each scenario exactly once. An index outside the total fails at startup
+ * instead of selecting nothing.
+ */
+final class Shard {
+    
+    static final String REPORTS_DIR = "target/cucumber-reports";
+    
+    private static final int INDEX = TestConfig.getInt("test.shard.index", 0);
+    private static final int TOTAL = TestConfig.getInt("test.shard.total", 1);
+    
+    static {
+        if (TOTAL < 1 || INDEX < 0 || INDEX >= TOTAL) {
+            throw new IllegalArgumentException("test.shard.index must be from 0 to test.shard.total - 1 and"
+                    + " test.shard.total at least 1, got index " + INDEX + " of " + TOTAL);
+        }
+    }
+    
+    private Shard() {
+    }
+    
+    static int index() {
+        return INDEX;
+    }
+    
+    static int total() {
+        return TOTAL;
+    }
+    
+    static boolean isEnabled() {
+        return TOTAL > 1;
+    }
+    
+    static boolean byDuration() {
+        return "duration".equalsIgnoreCase(TestConfig.get("test.shard.strategy", "hash"));
+    }
+    
+    static Path timingsFile() {
+        return Paths.get(TestConfig.get("test.shard.timings", REPORTS_DIR + "/cucumber.json"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.api.test.runner;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps only the scenarios that belong to this JVM's {@link Shard}.
+ * <p>
+ * Registered with the JUnit Platform launcher through {@code META-INF/services}, so it applies
+ * to every run of the {@link TestRunner} suite and is a no-op unless {@code test.shard.total > 1}.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    
+    private Map<String, Integer> durationPartition;
+    
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!Shard.isEnabled() || !descriptor.isTest()) {
+            return FilterResult.included("not sharded");
+        }
+        String key = ScenarioTimings.key(descriptor);
+        if (key == null) {
+            return FilterResult.included("no scenario location");
+        }
+        int shard = Shard.byDuration() ? durationPartition(descriptor).get(key) : hashShard(key);
+        return shard == Shard.index()
+                ? FilterResult.included("in shard " + shard)
+                : FilterResult.excluded("in shard " + shard + " of " + Shard.total());
+    }
+    
+    private static int hashShard(String key) {
+        CRC32 crc = new CRC32();
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % Shard.total());
+    }
+    
+    /**
+     * Longest-processing-time-first assignment of every discovered scenario, computed once per run.
+     * Scenarios without history are assumed to take the average known duration.
+     */
+    private synchronized Map<String, Integer> durationPartition(TestDescriptor descriptor) {
+        if (durationPartition != null) {
+            return durationPartition;
+        }
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        List<String> keys = new ArrayList<>();
+        for (TestDescriptor test : root.getDescendants()) {
+            String key = test.isTest() ? ScenarioTimings.key(test) : null;
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        
+        Map<String, Long> history = ScenarioTimings.fromCucumberJson(Shard.timingsFile());
+        long average = (long) history.values().stream().mapToLong(Long::longValue).average().orElse(1);
+        Map<String, Long> durations = new HashMap<>();
+        for (String key : keys) {
+            durations.put(key, history.getOrDefault(key, average));
+        }
+        keys.sort(Comparator.comparing((String key) -> durations.get(key)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        
+        long[] load = new long[Shard.total()];
+        Map<String, Integer> partition = new HashMap<>();
+        for (String key : keys) {
+            int lightest = 0;
+            for (int shard = 1; shard < load.length; shard++) {
+                if (load[shard] < load[lightest]) {
+                    lightest = shard;
+                }
+            }
+            load[lightest] += durations.get(key);
+            partition.put(key, lightest);
+        }
+        durationPartition = partition;
+        return partition;
+    }
+}
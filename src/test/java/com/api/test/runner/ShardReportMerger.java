@@ -0,0 +1,144 @@
+package com.api.test.runner;
+
+import com.api.test.model.JsonMapping;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Combines the reports of a sharded run, collected under {@code target/cucumber-reports/shard-N}:
+ * <ul>
+ *   <li>{@code cucumber.json}: features of all shards, with scenarios of the same feature merged
+ *       and sorted by line, each after its background, as if one JVM had run them</li>
+ *   <li>{@code index.html}: totals per shard and links to each shard's HTML report</li>
+ * </ul>
+ * Run with {@code mvn -Pmerge-reports test-compile exec:java} once every shard has finished.
+ */
+public final class ShardReportMerger {
+    
+    private ShardReportMerger() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Path reports = Paths.get(args.length > 0 ? args[0] : Shard.REPORTS_DIR);
+        List<Path> shards = new ArrayList<>();
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(reports, "shard-*")) {
+            dirs.forEach(shards::add);
+        }
+        shards.sort((a, b) -> Integer.compare(shardNumber(a), shardNumber(b)));
+        if (shards.isEmpty()) {
+            System.out.println("No shard reports under " + reports);
+            return;
+        }
+        
+        List<JsonNode> shardReports = new ArrayList<>();
+        StringBuilder rows = new StringBuilder();
+        int totalScenarios = 0;
+        int totalFailed = 0;
+        for (Path shard : shards) {
+            Path json = shard.resolve("cucumber.json");
+            int scenarios = 0;
+            int failed = 0;
+            if (Files.isRegularFile(json)) {
+                JsonNode report = JsonMapping.mapper().readTree(json.toFile());
+                shardReports.add(report);
+                for (JsonNode feature : report) {
+                    for (JsonNode element : feature.path("elements")) {
+                        if ("scenario".equals(element.path("type").asText())) {
+                            scenarios++;
+                            failed += isFailed(element) ? 1 : 0;
+                        }
+                    }
+                }
+            }
+            totalScenarios += scenarios;
+            totalFailed += failed;
+            String name = shard.getFileName().toString();
+            rows.append("<tr><td><a href=\"").append(name).append("/cucumber.html\">").append(name)
+                    .append("</a></td><td>").append(scenarios).append("</td><td>").append(failed)
+                    .append("</td></tr>\n");
+        }
+        
+        ArrayNode merged = merge(shardReports);
+        JsonMapping.mapper().writerWithDefaultPrettyPrinter().writeValue(reports.resolve("cucumber.json").toFile(), merged);
+        
+        String html = "<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Cucumber shards</title></head><body>\n"
+                + "<h1>" + totalScenarios + " scenarios, " + totalFailed + " failed, in " + shards.size() + " shards</h1>\n"
+                + "<table border=\"1\" cellpadding=\"4\">\n<tr><th>Shard</th><th>Scenarios</th><th>Failed</th></tr>\n"
+                + rows + "</table>\n</body></html>\n";
+        Files.write(reports.resolve("index.html"), html.getBytes(StandardCharsets.UTF_8));
+        
+        System.out.println("Merged " + shards.size() + " shards: " + totalScenarios + " scenarios, "
+                + totalFailed + " failed -> " + reports.resolve("cucumber.json") + ", " + reports.resolve("index.html"));
+    }
+    
+    /**
+     * Features of all the Cucumber JSON reports, one per feature file, with their scenarios in line
+     * order. A background element stays right before the scenario it ran for.
+     */
+    static ArrayNode merge(List<JsonNode> reports) {
+        Map<String, ObjectNode> features = new LinkedHashMap<>();
+        Map<String, List<List<JsonNode>>> runs = new HashMap<>();
+        for (JsonNode report : reports) {
+            for (JsonNode feature : report) {
+                String uri = feature.path("uri").asText();
+                features.computeIfAbsent(uri, key -> ((ObjectNode) feature).deepCopy());
+                List<List<JsonNode>> featureRuns = runs.computeIfAbsent(uri, key -> new ArrayList<>());
+                List<JsonNode> run = new ArrayList<>();
+                for (JsonNode element : feature.path("elements")) {
+                    run.add(element);
+                    if ("scenario".equals(element.path("type").asText())) {
+                        featureRuns.add(run);
+                        run = new ArrayList<>();
+                    }
+                }
+                if (!run.isEmpty()) {
+                    featureRuns.add(run);
+                }
+            }
+        }
+        
+        ArrayNode merged = JsonMapping.mapper().createArrayNode();
+        for (ObjectNode feature : features.values()) {
+            List<List<JsonNode>> featureRuns = runs.get(feature.path("uri").asText());
+            // Ordered by the run's last element, its scenario; List.sort is stable for equal lines
+            featureRuns.sort(Comparator.comparingLong(run -> run.get(run.size() - 1).path("line").asLong()));
+            ArrayNode elements = feature.putArray("elements");
+            featureRuns.forEach(elements::addAll);
+            merged.add(feature);
+        }
+        return merged;
+    }
+    
+    private static boolean isFailed(JsonNode scenario) {
+        for (String section : new String[] {"before", "steps", "after"}) {
+            for (JsonNode node : scenario.path(section)) {
+                if ("failed".equals(node.path("result").path("status").asText())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static int shardNumber(Path dir) {
+        try {
+            return Integer.parseInt(dir.getFileName().toString().substring("shard-".length()));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.api.test.runner;
+
+import com.api.test.model.JsonMapping;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+class ShardReportMergerTest {
+    
+    @Test
+    void keepsEachBackgroundBeforeItsScenarioInLineOrder() throws IOException {
+        JsonNode merged = ShardReportMerger.merge(List.of(report("shard-0"), report("shard-1")));
+        
+        assertThat(merged.size(), equalTo(2));
+        assertThat(elements(merged.get(0)), contains(
+                "background:6", "scenario:9", "background:6", "scenario:20", "background:6", "scenario:30"));
+        assertThat(elements(merged.get(1)), contains("scenario:4"));
+    }
+    
+    private static JsonNode report(String shard) throws IOException {
+        try (InputStream in = ShardReportMergerTest.class.getClassLoader()
+                .getResourceAsStream("shard-reports/" + shard + "/cucumber.json")) {
+            return JsonMapping.mapper().readTree(in);
+        }
+    }
+    
+    private static List<String> elements(JsonNode feature) {
+        List<String> elements = new ArrayList<>();
+        for (JsonNode element : feature.path("elements")) {
+            elements.add(element.path("type").asText() + ":" + element.path("line").asInt());
+        }
+        return elements;
+    }
+}
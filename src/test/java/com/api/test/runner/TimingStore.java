@@ -0,0 +1,66 @@
+package com.api.test.runner;
+
+import com.api.test.config.TestConfig;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Local store of scenario durations, kept across runs in {@code test.timings.store} so that
+ * {@link ExecutionOrder} can start the longest scenarios first.
+ * <p>
+ * As a Cucumber plugin it records the duration of every finished scenario and merges them into
+ * the store when the run finishes. Each stored value is a moving average that weighs the
+ * latest run by half, so a single slow run doesn't reorder the suite.
+ */
+public class TimingStore implements EventListener {
+    
+    private final Map<String, Long> durations = new HashMap<>();
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> durations.merge(
+                ScenarioTimings.key(event.getTestCase().getUri().toString(), event.getTestCase().getLocation().getLine()),
+                event.getResult().getDuration().toNanos(), Long::sum));
+        publisher.registerHandlerFor(TestRunFinished.class, event -> save(durations));
+    }
+    
+    static Path file() {
+        return Paths.get(TestConfig.get("test.timings.store", ".scenario-timings.properties"));
+    }
+    
+    /**
+     * Nanoseconds per scenario key from earlier runs; empty if nothing was recorded yet
+     */
+    static Map<String, Long> load() {
+        Map<String, Long> stored = new HashMap<>();
+        PropertiesFile.read(file(), "timing store").forEach((key, value) -> {
+            try {
+                stored.put(key, Long.parseLong(value.trim()));
+            } catch (NumberFormatException e) {
+                // Hand-edited entry: the scenario counts as unknown
+            }
+        });
+        return stored;
+    }
+    
+    private static synchronized void save(Map<String, Long> latest) {
+        if (latest.isEmpty()) {
+            return;
+        }
+        Map<String, Long> merged = new TreeMap<>(load());
+        latest.forEach((key, nanos) -> merged.merge(key, nanos, (previous, current) -> (previous + current) / 2));
+        
+        Map<String, String> entries = new HashMap<>();
+        merged.forEach((key, nanos) -> entries.put(key, Long.toString(nanos)));
+        PropertiesFile.write(file(), entries, "Scenario durations in nanoseconds, longest first ordering",
+                "timing store");
+    }
+}
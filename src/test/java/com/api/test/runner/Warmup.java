@@ -0,0 +1,99 @@
+package com.api.test.runner;
+
+import com.api.test.client.RestApiClient;
+import com.api.test.config.TestConfig;
+import com.api.test.model.ApiObject;
+import com.api.test.model.JsonMapping;
+import com.api.test.model.JsonSchemas;
+import com.api.test.stub.ObjectsApiStub;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.restassured.RestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optional warm-up ({@code test.warmup}): as soon as Cucumber loads its plugins, background
+ * threads initialise what the first scenario would otherwise pay for on its own thread, while
+ * Cucumber is still parsing features and loading glue.
+ * <ul>
+ *   <li>Jackson's ApiObject serializers</li>
+ *   <li>REST Assured's Groovy request pipeline, GPath and response assertions, through a request
+ *       that a filter answers without touching the network</li>
+ *   <li>the embedded stub, if enabled, and the shared client for the base URL</li>
+ *   <li>the JSON Schema factory and every schema under {@code schemas/}</li>
+ * </ul>
+ * Skipped on single-core machines. Nothing waits for it: a scenario that gets there first
+ * initialises the class itself, or waits for the class initialisation already in progress.
+ * Failures are only printed.
+ */
+public class Warmup implements EventListener {
+    
+    private static final String SAMPLE = "{\"id\":\"1\",\"name\":\"Warm-up\",\"data\":{\"price\":1.0}}";
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        // On a single core the threads would only compete with Cucumber for it
+        if (!TestConfig.getBoolean("test.warmup", true) || Runtime.getRuntime().availableProcessors() < 2) {
+            return;
+        }
+        Map<String, Runnable> tasks = new LinkedHashMap<>();
+        tasks.put("jackson", Warmup::jackson);
+        tasks.put("rest-assured", Warmup::restAssured);
+        tasks.put("client", Warmup::client);
+        tasks.put("schemas", JsonSchemas::compileAll);
+        
+        long start = System.nanoTime();
+        ExecutorService threads = Executors.newFixedThreadPool(tasks.size(), task -> {
+            Thread thread = new Thread(task, "warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<?>[] warmups = tasks.entrySet().stream()
+                .map(task -> CompletableFuture.runAsync(task.getValue(), threads).exceptionally(error -> {
+                    System.out.println("Warm-up of " + task.getKey() + " failed: " + error.getCause());
+                    return null;
+                }))
+                .toArray(CompletableFuture[]::new);
+        threads.shutdown();
+        CompletableFuture.allOf(warmups).thenRun(() -> System.out.println("Warm-up finished in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms"));
+    }
+    
+    private static void jackson() {
+        ApiObject apiObject = JsonMapping.toApiObject(SAMPLE.getBytes(StandardCharsets.UTF_8));
+        JsonMapping.toApiObject(JsonMapping.toBytes(apiObject));
+    }
+    
+    private static void restAssured() {
+        Response response = RestAssured.given()
+                .filter((requestSpec, responseSpec, ctx) -> new ResponseBuilder()
+                        .setStatusCode(200)
+                        .setStatusLine("HTTP/1.1 200")
+                        .setContentType(ContentType.JSON.toString())
+                        .setBody(SAMPLE)
+                        .build())
+                .contentType(ContentType.JSON)
+                .body(SAMPLE)
+                .when()
+                .post("http://localhost/warm-up")
+                .then()
+                .statusCode(200)
+                .extract().response();
+        response.jsonPath().getDouble("data.price");
+    }
+    
+    private static void client() {
+        RestApiClient.forBaseUrl(ObjectsApiStub.isEnabled()
+                ? ObjectsApiStub.shared().getBaseUrl()
+                : TestConfig.get("api.base.url", "https://api.restful-api.dev"));
+    }
+}
@@ -1,11 +1,16 @@
 package com.api.test.steps;
 
+import com.api.test.client.BulkCreateException;
+import com.api.test.context.ResponseDocument;
 import com.api.test.context.TestContext;
 import com.api.test.model.ApiObject;
+import com.api.test.stub.ObjectsApiStub;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
+import io.restassured.response.Response;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -19,17 +24,16 @@ public class GivenSteps {
     
     @Given("the API base URL is {string}")
     public void theApiBaseUrlIs(String baseUrl) {
-        System.out.println("🔍 DEBUG: Setting API base URL to: " + baseUrl);
-        context.setApiClient(new com.api.test.client.RestApiClient(baseUrl));
-        System.out.println("✅ DEBUG: API client initialized successfully");
+        if (ObjectsApiStub.isEnabled()) {
+            baseUrl = ObjectsApiStub.shared().getBaseUrl();
+        }
+        context.setApiClient(com.api.test.client.RestApiClient.forBaseUrl(baseUrl));
     }
     
     @Given("a {string} item is created")
     public void anItemIsCreated(String itemName) {
-        System.out.println("🔍 DEBUG: Creating item with name: " + itemName);
         ApiObject apiObject = new ApiObject(itemName);
         context.setCurrentObject(apiObject);
-        System.out.println("✅ DEBUG: Item object created and stored in context");
     }
     
     @Given("is a {string} CPU model")
@@ -39,10 +43,8 @@ public class GivenSteps {
     
     @Given("has a price of {string}")
     public void hasAPriceOf(String price) {
-        System.out.println("🔍 DEBUG: Setting price to: " + price);
         double priceValue = Double.parseDouble(price);
         context.getCurrentObject().addDataAttribute("price", priceValue);
-        System.out.println("✅ DEBUG: Price added to object data");
     }
     
     @Given("has the following attributes:")
@@ -76,6 +78,7 @@ public class GivenSteps {
     @Given("the following items are created:")
     public void theFollowingItemsAreCreated(DataTable dataTable) {
         List<Map<String, String>> items = dataTable.asMaps(String.class, String.class);
+        List<ApiObject> apiObjects = new ArrayList<>(items.size());
         for (Map<String, String> item : items) {
             ApiObject apiObject = new ApiObject(item.get("name"));
             
@@ -85,14 +88,42 @@ public class GivenSteps {
             if (item.containsKey("price")) {
                 apiObject.addDataAttribute("price", Double.parseDouble(item.get("price")));
             }
-            
-            // Create the object
-            context.setCurrentObject(apiObject);
-            context.setCurrentResponse(context.getApiClient().createObject(apiObject));
-            
-            // Store the created object ID for cleanup
-            String id = context.getCurrentResponse().path("id");
-            context.addCreatedObjectId(id);
+            apiObjects.add(apiObject);
+        }
+        
+        // Create the objects concurrently, storing their IDs for cleanup even if some creates fail
+        List<Response> responses;
+        try {
+            responses = context.getApiClient().createObjects(apiObjects);
+        } catch (BulkCreateException e) {
+            for (Response response : e.getCompletedResponses()) {
+                context.addCreatedObjectId(idOf(response));
+            }
+            throw e;
         }
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < responses.size(); i++) {
+            Response response = responses.get(i);
+            String id = idOf(response);
+            if (id != null) {
+                context.addCreatedObjectId(id);
+            } else {
+                failures.add("'" + apiObjects.get(i).getName() + "' returned " + response.getStatusCode());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new BulkCreateException(failures.size() + " of " + responses.size() + " creates failed: " + failures,
+                    null, responses);
+        }
+        
+        context.setCurrentObject(apiObjects.get(apiObjects.size() - 1));
+        context.setCurrentResponse(responses.get(responses.size() - 1));
+    }
+    
+    /**
+     * Id of a successfully created object, or null if the create was rejected
+     */
+    private static String idOf(Response response) {
+        return response.getStatusCode() == 200 ? new ResponseDocument(response).getString("id") : null;
     }
 }
@@ -1,10 +1,11 @@
 package com.api.test.steps;
 
 import com.api.test.context.TestContext;
+import com.api.test.model.JsonSchemas;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.cucumber.java.en.Then;
-import io.restassured.response.Response;
 
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -21,77 +22,48 @@ public class ThenSteps {
     @Then("a {int} response code is returned")
     public void aResponseCodeIsReturned(int expectedStatusCode) {
         int actualStatusCode = context.getCurrentResponse().getStatusCode();
-        System.out.println("🔍 DEBUG: Verifying status code");
-        System.out.println("   Expected: " + expectedStatusCode);
-        System.out.println("   Actual: " + actualStatusCode);
-        
-        if (actualStatusCode != expectedStatusCode) {
-            System.out.println("❌ DEBUG: Status code mismatch!");
-            System.out.println("   Response body: " + context.getCurrentResponse().getBody().asString());
-        } else {
-            System.out.println("✅ DEBUG: Status code matches!");
-        }
-        
         assertThat("Response status code should be " + expectedStatusCode,
                 actualStatusCode, equalTo(expectedStatusCode));
     }
     
     @Then("the response contains a valid object id")
     public void theResponseContainsAValidObjectId() {
-        // Use path() instead of jsonPath() for thread-safety
-        String id = context.getCurrentResponse().path("id");
+        String id = context.getCurrentDocument().getString("id");
         assertThat("Response should contain an id", id, notNullValue());
         assertThat("Id should not be empty", id, not(emptyString()));
     }
     
     @Then("a {string} is created")
     public void aIsCreated(String expectedName) {
-        String actualName = context.getCurrentResponse().path("name");
+        String actualName = context.getCurrentDocument().getString("name");
         assertThat("Object name should match", actualName, equalTo(expectedName));
     }
     
     @Then("a {string} is returned")
     public void aIsReturned(String expectedName) {
-        String actualName = context.getCurrentResponse().path("name");
+        String actualName = context.getCurrentDocument().getString("name");
         assertThat("Object name should match", actualName, equalTo(expectedName));
     }
     
     @Then("the object has property {string} with value {string}")
     public void theObjectHasPropertyWithStringValue(String jsonPath, String expectedValue) {
-        // Handle JSON paths with spaces by using bracket notation
-        String actualValue;
-        if (jsonPath.contains(" ")) {
-            // For paths like "data.CPU model", we need to access it differently
-            String[] parts = jsonPath.split("\\.");
-            if (parts.length == 2 && parts[0].equals("data")) {
-                Map<String, Object> data = context.getCurrentResponse().path("data");
-                actualValue = data != null ? String.valueOf(data.get(parts[1])) : null;
-            } else {
-                actualValue = context.getCurrentResponse().path(jsonPath);
-            }
-        } else {
-            actualValue = context.getCurrentResponse().path(jsonPath);
-        }
+        // Paths with spaces such as "data.CPU model" resolve as-is against the parsed document
+        String actualValue = context.getCurrentDocument().getString(jsonPath);
         assertThat("Property " + jsonPath + " should match", actualValue, equalTo(expectedValue));
     }
     
     @Then("the object has property {string} with value {double}")
     public void theObjectHasPropertyWithDoubleValue(String jsonPath, double expectedValue) {
-        Object actualValue = context.getCurrentResponse().path(jsonPath);
+        JsonNode actualValue = context.getCurrentDocument().node(jsonPath);
         
-        // Handle both Double, Float, and Integer responses
+        // Handle both numeric and numeric-string responses
         double actualDouble;
-        if (actualValue instanceof Integer) {
-            actualDouble = ((Integer) actualValue).doubleValue();
-        } else if (actualValue instanceof Double) {
-            actualDouble = (Double) actualValue;
-        } else if (actualValue instanceof Float) {
-            actualDouble = ((Float) actualValue).doubleValue();
-        } else if (actualValue instanceof String) {
-            actualDouble = Double.parseDouble((String) actualValue);
+        if (actualValue.isNumber()) {
+            actualDouble = actualValue.doubleValue();
+        } else if (actualValue.isTextual()) {
+            actualDouble = Double.parseDouble(actualValue.textValue());
         } else {
-            throw new AssertionError("Unexpected type for property " + jsonPath + ": " + 
-                    (actualValue != null ? actualValue.getClass() : "null"));
+            throw new AssertionError("Unexpected type for property " + jsonPath + ": " + actualValue.getNodeType());
         }
         
         assertThat("Property " + jsonPath + " should match", actualDouble, closeTo(expectedValue, 0.01));
@@ -100,7 +72,7 @@ public class ThenSteps {
     @Then("the object has all specified attributes")
     public void theObjectHasAllSpecifiedAttributes() {
         Map<String, Object> expectedData = context.getCurrentObject().getData();
-        Map<String, Object> actualData = context.getCurrentResponse().path("data");
+        Map<String, Object> actualData = context.getCurrentDocument().getMap("data");
         
         assertThat("Response should contain data", actualData, notNullValue());
         
@@ -124,71 +96,118 @@ public class ThenSteps {
     
     @Then("the response contains at least {int} objects")
     public void theResponseContainsAtLeastObjects(int minCount) {
-        List<Object> objects = context.getCurrentResponse().path("$");
+        // Streams the list and stops counting once minCount is reached
+        long count = context.getCurrentDocument().countElements(minCount);
         assertThat("Response should contain at least " + minCount + " objects",
-                objects.size(), greaterThanOrEqualTo(minCount));
+                count, greaterThanOrEqualTo((long) minCount));
     }
     
     @Then("the list includes {string}")
     public void theListIncludes(String itemName) {
-        List<String> names = context.getCurrentResponse().path("name");
-        assertThat("List should include " + itemName, names, hasItem(itemName));
+        boolean included = context.getCurrentDocument().anyElementHas("name", itemName);
+        assertThat("List should include " + itemName, included, is(true));
     }
     
     @Then("the response contains a success message")
     public void theResponseContainsASuccessMessage() {
-        String message = context.getCurrentResponse().path("message");
+        String message = context.getCurrentDocument().getString("message");
         assertThat("Response should contain a message", message, notNullValue());
     }
     
     @Then("the response contains an error message")
     public void theResponseContainsAnErrorMessage() {
-        String error = context.getCurrentResponse().path("error");
+        String error = context.getCurrentDocument().getString("error");
         assertThat("Response should contain an error", error, notNullValue());
     }
     
     @Then("the response contains a validation error")
     public void theResponseContainsAValidationError() {
-        String error = context.getCurrentResponse().path("error");
+        String error = context.getCurrentDocument().getString("error");
         assertThat("Response should contain a validation error", error, notNullValue());
     }
     
     @Then("the object name contains special characters")
     public void theObjectNameContainsSpecialCharacters() {
-        String name = context.getCurrentResponse().path("name");
+        String name = context.getCurrentDocument().getString("name");
         assertThat("Name should contain special characters", 
                 name, anyOf(containsString("&"), containsString("<"), containsString(">"), containsString("\"")));
     }
     
     @Then("both responses have identical data")
     public void bothResponsesHaveIdenticalData() {
-        Map<String, Object> previousData = context.getPreviousResponse().path("data");
-        Map<String, Object> currentData = context.getCurrentResponse().path("data");
+        JsonNode previousData = context.getPreviousDocument().node("data");
+        JsonNode currentData = context.getCurrentDocument().node("data");
         
         assertThat("Both responses should have identical data", currentData, equalTo(previousData));
     }
     
     @Then("both responses contain the same object id")
     public void bothResponsesContainTheSameObjectId() {
-        String previousId = context.getPreviousResponse().path("id");
-        String currentId = context.getCurrentResponse().path("id");
+        String previousId = context.getPreviousDocument().getString("id");
+        String currentId = context.getCurrentDocument().getString("id");
         
         assertThat("Both responses should have the same id", currentId, equalTo(previousId));
     }
     
+    @Then("response #{int} has a {int} response code")
+    public void responseHasAResponseCode(int number, int expectedStatusCode) {
+        int actualStatusCode = context.getStatusCode(number);
+        assertThat("Response #" + number + " status code should be " + expectedStatusCode,
+                actualStatusCode, equalTo(expectedStatusCode));
+    }
+    
+    @Then("the {string} response has a {int} response code")
+    public void theSavedResponseHasAResponseCode(String alias, int expectedStatusCode) {
+        int actualStatusCode = context.getDocument(alias).getResponse().getStatusCode();
+        assertThat("'" + alias + "' response status code should be " + expectedStatusCode,
+                actualStatusCode, equalTo(expectedStatusCode));
+    }
+    
+    @Then("the current response has the same {string} as response #{int}")
+    public void theCurrentResponseHasTheSameAsResponse(String path, int number) {
+        JsonNode expected = context.getDocument(number).node(path);
+        JsonNode actual = context.getCurrentDocument().node(path);
+        assertThat("'" + path + "' should match response #" + number, actual, equalTo(expected));
+    }
+    
+    @Then("the current response has the same {string} as the {string} response")
+    public void theCurrentResponseHasTheSameAsTheSavedResponse(String path, String alias) {
+        JsonNode expected = context.getDocument(alias).node(path);
+        JsonNode actual = context.getCurrentDocument().node(path);
+        assertThat("'" + path + "' should match the '" + alias + "' response", actual, equalTo(expected));
+    }
+    
     @Then("the response is a valid JSON array")
     public void theResponseIsAValidJsonArray() {
-        List<Object> array = context.getCurrentResponse().path("$");
-        assertThat("Response should be a valid array", array, notNullValue());
+        boolean array = context.getCurrentDocument().isJsonArray();
+        assertThat("Response should be a valid array", array, is(true));
     }
     
     @Then("each object in the list has required fields")
     public void eachObjectInTheListHasRequiredFields() {
-        List<Map<String, Object>> objects = context.getCurrentResponse().path("$");
-        
-        for (Map<String, Object> obj : objects) {
-            assertThat("Object should have 'id' field", obj, hasKey("id"));
-            assertThat("Object should have 'name' field", obj, hasKey("name"));
-        }
+        long missingAt = context.getCurrentDocument().firstElementMissing(Arrays.asList("id", "name"));
+        assertThat("Object at index " + missingAt + " should have 'id' and 'name' fields", missingAt, equalTo(-1L));
+    }
+    
+    @Then("the response matches the {string} schema")
+    public void theResponseMatchesTheSchema(String schema) {
+        String violations = JsonSchemas.violations(schema, context.getCurrentDocument().root());
+        assertThat("Response should match the '" + schema + "' schema", violations, nullValue());
+    }
+    
+    @Then("each object in the list matches the {string} schema")
+    public void eachObjectInTheListMatchesTheSchema(String schema) {
+        String violation = context.getCurrentDocument().firstElementViolating(schema);
+        assertThat("Every listed object should match the '" + schema + "' schema", violation, nullValue());
+    }
+    
+    @Then("every streamed object passed its cycle")
+    public void everyStreamedObjectPassedItsCycle() {
+        Object passed = context.getTestData("streamed.passed");
+        Object failed = context.getTestData("streamed.failed");
+        assertThat("No objects were streamed", passed, notNullValue());
+        assertThat(failed + " streamed objects failed, first ones: " + context.getTestData("streamed.failures"),
+                (Long) failed, equalTo(0L));
+        assertThat("The data file should contain objects", (Long) passed, greaterThan(0L));
     }
 }
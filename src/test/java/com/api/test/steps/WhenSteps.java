@@ -1,14 +1,27 @@
 package com.api.test.steps;
 
+import com.api.test.client.RestApiClient;
+import com.api.test.config.TestConfig;
+import com.api.test.context.ResponseDocument;
 import com.api.test.context.TestContext;
 import com.api.test.model.ApiObject;
+import com.api.test.model.ApiObjectSource;
+import com.api.test.model.JsonMapping;
 import io.cucumber.java.en.When;
 import io.restassured.response.Response;
 
+import java.util.ArrayList;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class WhenSteps {
     
+    private static final int MAX_REPORTED_FAILURES = 10;
+    
     private final TestContext context;
     
     public WhenSteps(TestContext context) {
@@ -17,39 +30,41 @@ public class WhenSteps {
     
     @When("the request to add the item is made")
     public void theRequestToAddTheItemIsMade() {
-        System.out.println("🔍 DEBUG: Making POST request to create object");
-        System.out.println("🔍 DEBUG: Object data: " + context.getCurrentObject());
-        
         Response response = context.getApiClient().createObject(context.getCurrentObject());
         context.setCurrentResponse(response);
         
-        System.out.println("📥 DEBUG: Response Status Code: " + response.getStatusCode());
-        System.out.println("📥 DEBUG: Response Body: " + response.getBody().asString());
-        
         // If creation was successful, store the ID for cleanup
         if (response.getStatusCode() == 200) {
-            String id = response.path("id");
-            context.addCreatedObjectId(id);
-            System.out.println("✅ DEBUG: Object created successfully with ID: " + id);
-        } else {
-            System.out.println("❌ DEBUG: Object creation failed!");
+            context.addCreatedObjectId(context.getCurrentDocument().getString("id"));
         }
     }
     
     @When("I retrieve the created object by its id")
     public void iRetrieveTheCreatedObjectByItsId() {
-        String objectId = context.getCurrentResponse().path("id");
+        String objectId = context.getCurrentDocument().getString("id");
         Response response = context.getApiClient().getObjectById(objectId);
         context.setCurrentResponse(response);
     }
     
     @When("I retrieve the same object again")
     public void iRetrieveTheSameObjectAgain() {
-        String objectId = context.getCurrentResponse().path("id");
+        String objectId = context.getCurrentDocument().getString("id");
         Response response = context.getApiClient().getObjectById(objectId);
         context.setCurrentResponse(response);
     }
     
+    @When("I retrieve the same object again from the server")
+    public void iRetrieveTheSameObjectAgainFromTheServer() {
+        String objectId = context.getCurrentDocument().getString("id");
+        Response response = context.getApiClient().getObjectByIdBypassingCache(objectId);
+        context.setCurrentResponse(response);
+    }
+    
+    @When("I save the response as {string}")
+    public void iSaveTheResponseAs(String alias) {
+        context.aliasCurrentResponse(alias);
+    }
+    
     @When("I request to list all objects")
     public void iRequestToListAllObjects() {
         Response response = context.getApiClient().getAllObjects();
@@ -58,7 +73,7 @@ public class WhenSteps {
     
     @When("I delete the created object")
     public void iDeleteTheCreatedObject() {
-        String objectId = context.getCurrentResponse().path("id");
+        String objectId = context.getCurrentDocument().getString("id");
         Response response = context.getApiClient().deleteObject(objectId);
         context.setCurrentResponse(response);
     }
@@ -66,39 +81,36 @@ public class WhenSteps {
     @When("I attempt to retrieve the deleted object")
     public void iAttemptToRetrieveTheDeletedObject() {
         // Get the ID before it was deleted (from test data or previous response)
-        String objectId = context.getCreatedObjectIds().get(context.getCreatedObjectIds().size() - 1);
+        String objectId = context.getLastCreatedObjectId();
         Response response = context.getApiClient().getObjectById(objectId);
         context.setCurrentResponse(response);
     }
     
     @When("I update the object with name {string}")
     public void iUpdateTheObjectWithName(String newName) {
-        String objectId = context.getCurrentResponse().path("id");
+        ApiObject current = context.getCurrentDocument().asApiObject();
         ApiObject updateObject = new ApiObject(newName);
         
         // Preserve existing data attributes
-        Map<String, Object> existingData = context.getCurrentResponse().path("data");
-        if (existingData != null) {
-            updateObject.setData(existingData);
+        if (current.getData() != null) {
+            updateObject.setData(current.getData());
         }
         
-        Response response = context.getApiClient().updateObject(objectId, updateObject);
+        Response response = context.getApiClient().updateObject(current.getId(), updateObject);
         context.setCurrentResponse(response);
     }
     
     @When("I update the object with price {string}")
     public void iUpdateTheObjectWithPrice(String price) {
-        String objectId = context.getCurrentResponse().path("id");
-        String name = context.getCurrentResponse().path("name");
+        ApiObject current = context.getCurrentDocument().asApiObject();
         
-        ApiObject updateObject = new ApiObject(name);
-        Map<String, Object> existingData = context.getCurrentResponse().path("data");
-        if (existingData != null) {
-            updateObject.setData(new java.util.HashMap<>(existingData));
+        ApiObject updateObject = new ApiObject(current.getName());
+        if (current.getData() != null) {
+            updateObject.setData(new java.util.HashMap<>(current.getData()));
         }
         updateObject.addDataAttribute("price", Double.parseDouble(price));
         
-        Response response = context.getApiClient().updateObject(objectId, updateObject);
+        Response response = context.getApiClient().updateObject(current.getId(), updateObject);
         context.setCurrentResponse(response);
     }
     
@@ -120,4 +132,95 @@ public class WhenSteps {
         Response response = context.getApiClient().createObjectWithInvalidJson(invalidJson);
         context.setCurrentResponse(response);
     }
+    
+    /**
+     * Streams objects from a CSV/NDJSON file through create, retrieve-and-compare and delete,
+     * with up to {@code http.bulk.window} objects in their cycle at once. Neither the objects nor
+     * their responses are kept, so the file can hold any number of them.
+     */
+    @When("the objects in {string} are created, verified and deleted")
+    public void theObjectsInAreCreatedVerifiedAndDeleted(String dataFile) {
+        RestApiClient client = context.getApiClient();
+        int window = TestConfig.getInt("http.bulk.window", 8);
+        Semaphore permits = new Semaphore(window);
+        AtomicLong passed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+        
+        try (ApiObjectSource objects = ApiObjectSource.open(dataFile)) {
+            while (objects.hasNext()) {
+                ApiObject expected = objects.next();
+                permits.acquireUninterruptibly();
+                // One task per object, so every call in its cycle runs under this scenario
+                client.sequenceAsync(() -> cycle(client, expected))
+                        .whenComplete((mismatch, error) -> {
+                            if (error == null && mismatch == null) {
+                                passed.incrementAndGet();
+                            } else if (failed.incrementAndGet() <= MAX_REPORTED_FAILURES) {
+                                failures.add(error != null ? String.valueOf(error.getCause() != null ? error.getCause() : error) : mismatch);
+                            }
+                            permits.release();
+                        });
+            }
+        } finally {
+            // Wait for the cycles still in flight
+            permits.acquireUninterruptibly(window);
+            permits.release(window);
+        }
+        
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        // Attached to the scenario's report rather than printed, so parallel runs don't contend on stdout
+        context.getScenario().log("Streamed " + (passed.get() + failed.get()) + " objects from " + dataFile + " in "
+                + millis + " ms (" + (passed.get() + failed.get()) * 1000 / millis + " cycles/s), " + failed.get() + " failed");
+        context.setTestData("streamed.passed", passed.get());
+        context.setTestData("streamed.failed", failed.get());
+        context.setTestData("streamed.failures", new ArrayList<>(failures));
+    }
+    
+    private static String mismatch(ApiObject expected, String id, Response fetched) {
+        if (fetched.getStatusCode() != 200) {
+            return "retrieve of " + id + " returned " + fetched.getStatusCode();
+        }
+        ApiObject actual = new ResponseDocument(fetched).asApiObject();
+        if (!Objects.equals(expected.getName(), actual.getName())) {
+            return "object " + id + " has name '" + actual.getName() + "', expected '" + expected.getName() + "'";
+        }
+        Map<String, Object> expectedData = expected.getData() != null ? expected.getData() : Map.of();
+        Map<String, Object> actualData = actual.getData() != null ? actual.getData() : Map.of();
+        if (!JsonMapping.mapper().valueToTree(expectedData).equals(JsonMapping.mapper().valueToTree(actualData))) {
+            return "object " + id + " has data " + actualData + ", expected " + expectedData;
+        }
+        return null;
+    }
+    
+    /**
+     * Creates, retrieves and compares, then deletes one streamed object; returns the mismatch, if any
+     */
+    private String cycle(RestApiClient client, ApiObject expected) {
+        Response created = client.createObject(expected);
+        String id = new ResponseDocument(created).getString("id");
+        if (created.getStatusCode() != 200 || id == null) {
+            throw new AssertionError("create of '" + expected.getName() + "' returned " + created.getStatusCode());
+        }
+        try {
+            return mismatch(expected, id, client.getObjectById(id));
+        } finally {
+            // Delete whatever the verification outcome, so a failed retrieve never leaks the object
+            deleteStreamed(client, id);
+        }
+    }
+    
+    /**
+     * Deletes a streamed object; one that can't be deleted now is left to the scenario cleanup
+     */
+    private void deleteStreamed(RestApiClient client, String id) {
+        try {
+            if (client.deleteObject(id).getStatusCode() != 200) {
+                context.addCreatedObjectId(id);
+            }
+        } catch (RuntimeException e) {
+            context.addCreatedObjectId(id);
+        }
+    }
 }
@@ -0,0 +1,334 @@
+package com.api.test.stub;
+
+import com.api.test.config.TestConfig;
+import com.api.test.model.JsonMapping;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * In-process stand-in for the restful-api.dev {@code /objects} API.
+ * <p>
+ * Implements the CRUD contract RestApiClient uses (POST, GET, list, PUT, PATCH, DELETE) on
+ * a concurrent in-memory store, with the same status codes and message shapes as the real
+ * service. Reads carry an ETag and honour If-None-Match. Latency and error injection can be
+ * changed while the server is running.
+ * Enable it for the whole suite with {@code api.stub.enabled=true}.
+ */
+public class ObjectsApiStub {
+    
+    private static final String OBJECTS_PATH = "/objects";
+    private static final String BAD_REQUEST = "400 Bad Request. If you are trying to create or update the data, "
+            + "potential issue is that you are sending incorrect body json or it is missing at all.";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxxx");
+    private static final ObjectMapper MAPPER = JsonMapping.mapper();
+    
+    private static ObjectsApiStub shared;
+    
+    static {
+        // Headers and body are written separately; without TCP_NODELAY every keep-alive exchange
+        // stalls on Nagle plus the client's delayed ACK. Read once, when the JDK server first loads.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    
+    private final ConcurrentNavigableMap<Long, ObjectNode> store = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final HttpServer server;
+    private final ExecutorService executor;
+    
+    private volatile long latencyMillis;
+    private volatile long latencyJitterMillis;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    
+    public ObjectsApiStub(int port) {
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start objects API stub on port " + port, e);
+        }
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "objects-api-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext(OBJECTS_PATH, this::handle);
+        server.setExecutor(executor);
+    }
+    
+    /**
+     * Start (once per JVM) and return the stub configured by the {@code api.stub.*} properties
+     */
+    public static synchronized ObjectsApiStub shared() {
+        if (shared == null) {
+            ObjectsApiStub stub = new ObjectsApiStub(TestConfig.getInt("api.stub.port", 0));
+            stub.setLatency(TestConfig.getLong("api.stub.latency.millis", 0),
+                    TestConfig.getLong("api.stub.latency.jitter.millis", 0));
+            stub.setErrors(Double.parseDouble(TestConfig.get("api.stub.error.rate", "0")),
+                    TestConfig.getInt("api.stub.error.status", 503));
+            stub.start();
+            shared = stub;
+        }
+        return shared;
+    }
+    
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("api.stub.enabled", false);
+    }
+    
+    public void start() {
+        server.start();
+    }
+    
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    /**
+     * Delay every response by a fixed time plus a random jitter
+     */
+    public void setLatency(long fixedMillis, long jitterMillis) {
+        this.latencyMillis = fixedMillis;
+        this.latencyJitterMillis = jitterMillis;
+    }
+    
+    /**
+     * Fail the given fraction of requests (0.0 - 1.0) with the given status
+     */
+    public void setErrors(double rate, int status) {
+        this.errorRate = rate;
+        this.errorStatus = status;
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            injectLatency();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, errorStatus, error("Injected failure"));
+                return;
+            }
+            
+            String path = exchange.getRequestURI().getPath();
+            String id = path.length() > OBJECTS_PATH.length() + 1 ? path.substring(OBJECTS_PATH.length() + 1) : null;
+            String method = exchange.getRequestMethod();
+            
+            if (id == null) {
+                if ("GET".equals(method)) {
+                    respondCacheable(exchange, list());
+                } else if ("POST".equals(method)) {
+                    create(exchange);
+                } else {
+                    respond(exchange, 405, error("Method " + method + " is not allowed on " + OBJECTS_PATH));
+                }
+                return;
+            }
+            
+            switch (method) {
+                case "GET":
+                    get(exchange, id);
+                    break;
+                case "PUT":
+                    update(exchange, id, false);
+                    break;
+                case "PATCH":
+                    update(exchange, id, true);
+                    break;
+                case "DELETE":
+                    delete(exchange, id);
+                    break;
+                default:
+                    respond(exchange, 405, error("Method " + method + " is not allowed on " + path));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private ArrayNode list() {
+        ArrayNode objects = MAPPER.createArrayNode();
+        store.values().forEach(objects::add);
+        return objects;
+    }
+    
+    private void create(HttpExchange exchange) throws IOException {
+        ObjectNode body = readBody(exchange);
+        if (body == null) {
+            respond(exchange, 400, error(BAD_REQUEST));
+            return;
+        }
+        long id = nextId.getAndIncrement();
+        ObjectNode object = MAPPER.createObjectNode();
+        object.put("id", String.valueOf(id));
+        object.set("name", body.get("name"));
+        object.set("data", body.get("data"));
+        object.put("createdAt", now());
+        store.put(id, object);
+        respond(exchange, 200, object);
+    }
+    
+    private void get(HttpExchange exchange, String id) throws IOException {
+        ObjectNode object = find(id);
+        if (object == null) {
+            respond(exchange, 404, error("Oject with id=" + id + " was not found."));
+        } else {
+            respondCacheable(exchange, object);
+        }
+    }
+    
+    private void update(HttpExchange exchange, String id, boolean partial) throws IOException {
+        Long key = parseId(id);
+        ObjectNode body = readBody(exchange);
+        if (body == null) {
+            respond(exchange, 400, error(BAD_REQUEST));
+            return;
+        }
+        // Objects are replaced, never mutated, so concurrent readers always see a complete one
+        ObjectNode updated = key == null ? null : store.computeIfPresent(key, (k, existing) -> {
+            ObjectNode object = existing.deepCopy();
+            if (partial) {
+                mergeInto(object, body);
+            } else {
+                object.set("name", body.get("name"));
+                object.set("data", body.get("data"));
+            }
+            object.remove("createdAt");
+            object.put("updatedAt", now());
+            return object;
+        });
+        if (updated == null) {
+            respond(exchange, 404, error("The Object with id = " + id + " doesn't exist. "
+                    + "Please provide an object id which exists or generate a new Object using POST request and capture the id of it to use it as part of PUT request after that."));
+        } else {
+            respond(exchange, 200, updated);
+        }
+    }
+    
+    private void delete(HttpExchange exchange, String id) throws IOException {
+        Long key = parseId(id);
+        if (key == null || store.remove(key) == null) {
+            respond(exchange, 404, error("Object with id = " + id + " doesn't exist."));
+        } else {
+            ObjectNode message = MAPPER.createObjectNode();
+            message.put("message", "Object with id = " + id + " has been deleted.");
+            respond(exchange, 200, message);
+        }
+    }
+    
+    private static void mergeInto(ObjectNode target, ObjectNode patch) {
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if ("id".equals(field.getKey())) {
+                continue;
+            }
+            JsonNode existing = target.get(field.getKey());
+            if (existing instanceof ObjectNode && field.getValue() instanceof ObjectNode) {
+                ((ObjectNode) existing).setAll((ObjectNode) field.getValue());
+            } else {
+                target.set(field.getKey(), field.getValue());
+            }
+        }
+    }
+    
+    private ObjectNode find(String id) {
+        Long key = parseId(id);
+        return key == null ? null : store.get(key);
+    }
+    
+    private static Long parseId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private static ObjectNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            JsonNode body = MAPPER.readTree(in);
+            return body instanceof ObjectNode ? (ObjectNode) body : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+    
+    private static ObjectNode error(String message) {
+        ObjectNode error = MAPPER.createObjectNode();
+        error.put("error", message);
+        return error;
+    }
+    
+    private static String now() {
+        return OffsetDateTime.now(ZoneOffset.UTC).format(TIMESTAMP);
+    }
+    
+    private void injectLatency() {
+        long delay = latencyMillis;
+        if (latencyJitterMillis > 0) {
+            delay += ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * 200 with an ETag of the body, or 304 when the request's If-None-Match already names it
+     */
+    private static void respondCacheable(HttpExchange exchange, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        String etag = "\"" + Long.toHexString(crc.getValue()) + "-" + bytes.length + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    private static void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -14,6 +14,7 @@ Feature: Object Management via RESTful API
     # When the request to add the item is made
     # Then a 200 response code is returned
     # And the response contains a valid object id
+    # And the response matches the "object" schema
     # And a "Apple MacBook Pro 16" is created
     # And the object has property "data.CPU model" with value "Intel Core i9"
     # And the object has property "data.price" with value 1849.99
@@ -139,7 +140,7 @@ Feature: Object Management via RESTful API
   #   And has a price of "555.55"
   #   When the request to add the item is made
   #   And I retrieve the created object by its id
-  #   And I retrieve the same object again
+  #   And I retrieve the same object again from the server
   #   Then both responses have identical data
   #   And both responses contain the same object id
 
@@ -149,6 +150,18 @@ Feature: Object Management via RESTful API
   #   Then a 200 response code is returned
   #   And the response is a valid JSON array
   #   And each object in the list has required fields
+  #   And each object in the list matches the "object" schema
+
+  @stub @schema
+  Scenario: Created and listed objects match the object schema
+    Given a "Schema Test Device" item is created
+    And has a price of "321.00"
+    When the request to add the item is made
+    Then a 200 response code is returned
+    And the response matches the "object" schema
+    When I request to list all objects
+    Then a 200 response code is returned
+    And each object in the list matches the "object" schema
 
   # @chaining
   # Scenario: Complete CRUD lifecycle of an object
@@ -166,3 +179,20 @@ Feature: Object Management via RESTful API
   #   Then a 200 response code is returned
   #   When I attempt to retrieve the deleted object
   #   Then a 404 response code is returned
+
+  @stub @chaining
+  Scenario: Refer back to earlier responses by number or saved name
+    Given a "History Test Device" item is created
+    And has a price of "123.45"
+    When the request to add the item is made
+    And I save the response as "created"
+    And I retrieve the created object by its id
+    And I update the object with name "Renamed History Test Device"
+    Then response #2 has a 200 response code
+    And the current response has the same "id" as response #1
+    And the current response has the same "data" as the "created" response
+
+  @stub @data-driven
+  Scenario: Create, verify and delete every object in a data file
+    When the objects in "data/objects.csv" are created, verified and deleted
+    Then every streamed object passed its cycle